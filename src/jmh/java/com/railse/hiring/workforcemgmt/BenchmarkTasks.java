@@ -0,0 +1,63 @@
+package com.railse.hiring.workforcemgmt;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/*
+* Data set shared by the JMH benchmarks: open ORDER tasks spread over ASSIGNEES assignees,
+* TASKS_PER_REFERENCE tasks per reference id, increasing deadlines and rotating priorities.
+* */
+public final class BenchmarkTasks {
+
+    public static final int ASSIGNEES = 1_000;
+    public static final int TASKS_PER_REFERENCE = 4;
+    public static final long FIRST_DEADLINE = 1_700_000_000_000L;
+    private static final int BATCH = 10_000;
+
+    private BenchmarkTasks() {
+    }
+
+
+    // Ids come out as 1..count when the repository starts empty.
+    public static void populate(TaskRepository repository, int count) {
+        List<TaskManagement> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(TaskManagement.builder()
+                    .referenceId(reference(i))
+                    .referenceType(ReferenceType.ORDER)
+                    .task(Task.CREATE_INVOICE)
+                    .assigneeId((long) (i % ASSIGNEES))
+                    .status(TaskStatus.ASSIGNED)
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .description("benchmark task")
+                    .taskDeadlineTime(FIRST_DEADLINE + i)
+                    .build());
+            if (batch.size() == BATCH) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    public static long reference(int index) {
+        return 1_000_000L + index / TASKS_PER_REFERENCE;
+    }
+
+    public static long randomReference(int count) {
+        return reference(ThreadLocalRandom.current().nextInt(count));
+    }
+
+    public static long randomAssignee() {
+        return ThreadLocalRandom.current().nextInt(ASSIGNEES);
+    }
+}
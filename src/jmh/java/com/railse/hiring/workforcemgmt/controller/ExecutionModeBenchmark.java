@@ -0,0 +1,131 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.Application;
+import com.railse.hiring.workforcemgmt.config.BackgroundThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+* Tomcat's platform worker pool vs virtual threads per request; the virtual mode needs -PjavaVersion=21.
+* Each trial boots the app on the WAL store with fsync on, so /assign-by-ref blocks on the group commit,
+* then 2 x CLIENTS_PER_ENDPOINT clients (well past Tomcat's 200 workers) keep calling
+* /assign-by-ref and /fetch-by-date/v2. Sample time gives the latency percentiles per endpoint.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutionModeBenchmark {
+
+    private static final int CLIENTS_PER_ENDPOINT = 500;
+    private static final int REFERENCES = 2_000;
+    private static final int ASSIGNEES = 50;
+    private static final long FIRST_REFERENCE = 1_000_000L;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+
+    @Setup(Level.Trial)
+    public void start() throws IOException, InterruptedException {
+        if (virtualThreads && !BackgroundThreads.virtualThreadsSupported()) {
+            // Boot would quietly keep the platform pool, and the trial would pass off its numbers as virtual threads'
+            throw new IllegalStateException("virtualThreads=true needs a Java 21 runtime; run with -PjavaVersion=21");
+        }
+        Path directory = Files.createTempDirectory("execution-mode-wal");
+        context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.com.railse=WARN",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "task-mgmt.storage.mode=wal",
+                        "task-mgmt.storage.wal.fsync=true",
+                        "task-mgmt.storage.wal.dir=" + directory)
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/task-mgmt";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> created = client.send(post("/create", createBody()), HttpResponse.BodyHandlers.ofString());
+        if (created.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + created.statusCode() + ": " + created.body());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(CLIENTS_PER_ENDPOINT)
+    public int assignByReference() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return send(post("/assign-by-ref", """
+                {"reference_id": %d, "reference_type": "ORDER", "assignee_id": %d, "user_name": "load"}"""
+                .formatted(FIRST_REFERENCE + random.nextInt(REFERENCES), random.nextInt(ASSIGNEES) + 1)));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(CLIENTS_PER_ENDPOINT)
+    public int fetchByDate() throws IOException, InterruptedException {
+        return send(post("/fetch-by-date/v2", """
+                {"start_date": 0, "end_date": %d, "assignee_ids": [%d], "limit": 50}"""
+                .formatted(Long.MAX_VALUE, ThreadLocalRandom.current().nextInt(ASSIGNEES) + 1)));
+    }
+
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + status);
+        }
+        return status;
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String createBody() {
+        StringJoiner items = new StringJoiner(",", "{\"user_name\": \"load\", \"requests\": [", "]}");
+        for (int r = 0; r < REFERENCES; r++) {
+            items.add("""
+                    {"reference_id": %d, "reference_type": "ORDER", "task": "CREATE_INVOICE", "assignee_id": %d, "priority": "MEDIUM", "task_deadline_time": %d}"""
+                    .formatted(FIRST_REFERENCE + r, r % ASSIGNEES + 1, 1_700_000_000_000L + r));
+        }
+        return items.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+* Activity appends, as the audit writer issues them (appendActivities with a batch) and one at a time.
+* Appends only touch the per-task history logs, so instead of the task count the parameter is how many
+* distinct tasks the appends are spread over: 1 is every thread appending to the same log.
+* The repository is replaced every iteration so history growth does not carry over.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ActivityAppendBenchmark {
+
+    private static final int BATCH = 64;
+
+    @Param({"1", "10000", "1000000"})
+    public int taskSpread;
+
+    private InMemoryTaskRepository repository;
+
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), null);
+    }
+
+
+    @Benchmark
+    public void saveTask() {
+        repository.saveTask(activity(randomTask()));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void saveTaskAllCores() {
+        repository.saveTask(activity(randomTask()));
+    }
+
+    // Batches are grouped by task, like the writer's FIFO drain of consecutive updates.
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void appendActivitiesAllCores() {
+        List<ActivityOnTask> batch = new ArrayList<>(BATCH);
+        long taskId = randomTask();
+        for (int i = 0; i < BATCH; i++) {
+            if (i % 8 == 0) {
+                taskId = randomTask();
+            }
+            batch.add(activity(taskId));
+        }
+        repository.appendActivities(batch);
+    }
+
+
+    private long randomTask() {
+        return ThreadLocalRandom.current().nextLong(1, taskSpread + 1L);
+    }
+
+    private static ActivityOnTask activity(long taskId) {
+        return new ActivityOnTask(taskId, Activity.of(System.currentTimeMillis(), "benchmark", ActivityType.TASK_UPDATED, taskId));
+    }
+}
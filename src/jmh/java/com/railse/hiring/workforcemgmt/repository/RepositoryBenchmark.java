@@ -0,0 +1,136 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.BenchmarkTasks;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+* InMemoryTaskRepository reads and writes at 10k and 1M tasks (10M with -PjmhTasks), on both task tables.
+* Plain methods run on one thread; *AllCores run on every core against random ids, and the "mixed"
+* group runs three findById readers against one compareAndSave writer on a small hot set of ids,
+* so readers keep hitting stripes that are being written. Each trial prints the heap its populated repository
+* retains, which JMH itself does not measure; -PjmhProfilers=gc adds the allocation rate per operation.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RepositoryBenchmark {
+
+    private static final int HOT_IDS = 64;
+
+    @Param({"10000", "1000000"})
+    public int tasks;
+
+    @Param({"primitive", "concurrent-hash-map"})
+    public String table;
+
+    private InMemoryTaskRepository repository;
+
+
+    @Setup(Level.Trial)
+    public void populate() {
+        long heapBefore = usedHeap();
+        repository = new InMemoryTaskRepository(false, TaskTable.create(table), null);
+        BenchmarkTasks.populate(repository, tasks);
+        System.out.printf("%n%s table, %d tasks: %d MB retained%n", table, tasks, (usedHeap() - heapBefore) >> 20);
+    }
+
+
+    @Benchmark
+    public Optional<TaskManagement> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<TaskManagement> findByIdAllCores() {
+        return repository.findById(randomId());
+    }
+
+    // Overwrites an existing task with the next priority: version bump plus a move between priority buckets.
+    @Benchmark
+    public TaskManagement save() {
+        return rotatePriority(randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TaskManagement saveAllCores() {
+        return rotatePriority(randomId());
+    }
+
+    @Benchmark
+    public List<TaskManagement> findByAssigneeIdIn() {
+        return repository.findByAssigneeIdIn(List.of(BenchmarkTasks.randomAssignee()));
+    }
+
+    @Benchmark
+    public List<TaskManagement> findByReferenceIdAndReferenceType() {
+        return repository.findByReferenceIdAndReferenceType(BenchmarkTasks.randomReference(tasks), ReferenceType.ORDER);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<TaskManagement> findByReferenceIdAndReferenceTypeAllCores() {
+        return repository.findByReferenceIdAndReferenceType(BenchmarkTasks.randomReference(tasks), ReferenceType.ORDER);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Optional<TaskManagement> mixedRead() {
+        return repository.findById(hotId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Optional<TaskManagement> mixedCompareAndSave() {
+        TaskManagement current = repository.findById(hotId()).orElseThrow();
+        return repository.compareAndSave(current.withPriority(next(current.getPriority())));
+    }
+
+
+    private TaskManagement rotatePriority(long id) {
+        TaskManagement current = repository.findById(id).orElseThrow();
+        return repository.save(current.withPriority(next(current.getPriority())));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, tasks + 1L);
+    }
+
+    private static long hotId() {
+        return ThreadLocalRandom.current().nextLong(1, HOT_IDS + 1L);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Priority next(Priority priority) {
+        Priority[] priorities = Priority.values();
+        return priorities[(priority.ordinal() + 1) % priorities.length];
+    }
+}
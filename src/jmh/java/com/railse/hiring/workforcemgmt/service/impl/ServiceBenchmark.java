@@ -0,0 +1,119 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.BenchmarkTasks;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.PageDto;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+* TaskManagementServiceImpl operations at 10k and 1M tasks (10M with -PjmhTasks), wired as in the app
+* (primitive task table, detail cache at its default size) but with activities written synchronously.
+* findTaskByIdHotSet polls HOT_TASKS tasks, as a dispatch board does, and is mostly served from the cache.
+* assignByReferenceAllCores spreads threads over random references and should scale with cores;
+* assignSameReferenceAllCores puts every thread on one reference and shows the per-reference ordering cost.
+* -PjmhThreads=n reruns both at a given thread count, to see how each scales.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ServiceBenchmark {
+
+    private static final int HOT_TASKS = 1_000;
+    private static final int ASSIGNEES_PER_FETCH = 3;
+
+    @Param({"10000", "1000000"})
+    public int tasks;
+
+    private TaskManagementServiceImpl service;
+
+
+    @Setup(Level.Trial)
+    public void populate() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository("primitive", false, null);
+        BenchmarkTasks.populate(repository, tasks);
+        service = new TaskManagementServiceImpl(repository, Mappers.getMapper(ITaskManagementMapper.class),
+                AuditLog.synchronous(repository), new TaskDetailCache(10_000), TaskChangeFeed.synchronous(16_384, 1_024), 5);
+    }
+
+
+    @Benchmark
+    public PageDto<TaskManagementDto> fetchTasksByDate() {
+        return service.fetchTasksByDate(fetchRequest());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PageDto<TaskManagementDto> fetchTasksByDateAllCores() {
+        return service.fetchTasksByDate(fetchRequest());
+    }
+
+    @Benchmark
+    public String assignByReference() {
+        return service.assignByReference(assignRequest());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String assignByReferenceAllCores() {
+        return service.assignByReference(assignRequest());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String assignSameReferenceAllCores() {
+        return service.assignByReference(assignRequest(BenchmarkTasks.reference(0)));
+    }
+
+    @Benchmark
+    public TaskManagementDto findTaskById() {
+        return service.findTaskById(ThreadLocalRandom.current().nextLong(1, tasks + 1L));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TaskManagementDto findTaskByIdHotSet() {
+        return service.findTaskById(ThreadLocalRandom.current().nextLong(1, HOT_TASKS + 1L));
+    }
+
+
+    private static TaskFetchByDateRequest fetchRequest() {
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setStartDate(0L);
+        request.setEndDate(Long.MAX_VALUE);
+        request.setAssigneeIds(ThreadLocalRandom.current().longs(ASSIGNEES_PER_FETCH, 0, BenchmarkTasks.ASSIGNEES).boxed().toList());
+        request.setLimit(50);
+        return request;
+    }
+
+    private AssignByReferenceRequest assignRequest() {
+        return assignRequest(BenchmarkTasks.randomReference(tasks));
+    }
+
+    private static AssignByReferenceRequest assignRequest(long referenceId) {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setUserName("benchmark");
+        request.setReferenceId(referenceId);
+        request.setReferenceType(ReferenceType.ORDER);
+        request.setAssigneeId(BenchmarkTasks.randomAssignee());
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+
+
+/*
+* Threads for the app's own background work (WAL flusher and checkpointer, audit writer).
+*
+* They follow spring.threads.virtual.enabled, the same switch that moves Tomcat request handling
+* onto virtual threads. Virtual threads need a Java 21 runtime; on an older JVM the switch is
+* ignored, as Spring Boot does for Tomcat, and daemon platform threads are used.
+* */
+public final class BackgroundThreads {
+
+    public static final String VIRTUAL_ENABLED = "${spring.threads.virtual.enabled:false}";
+
+    private BackgroundThreads() {
+    }
+
+
+    // Every thread from the factory gets the given name.
+    public static ThreadFactory factory(String name, boolean virtual) {
+        if (virtual && virtualThreadsSupported()) {
+            ThreadFactory virtualThreads = new VirtualThreadTaskExecutor().getVirtualThreadFactory();
+            return runnable -> {
+                Thread thread = virtualThreads.newThread(runnable);
+                thread.setName(name);
+                return thread;
+            };
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static Thread start(String name, boolean virtual, Runnable task) {
+        Thread thread = factory(name, virtual).newThread(task);
+        thread.start();
+        return thread;
+    }
+
+    public static boolean virtualThreadsSupported() {
+        return JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+}
@@ -0,0 +1,107 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.railse.hiring.workforcemgmt.repository.StoreStats;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.impl.AuditLog;
+import com.railse.hiring.workforcemgmt.service.impl.DeadlineEscalator;
+import com.railse.hiring.workforcemgmt.service.impl.TaskChangeFeed;
+import com.railse.hiring.workforcemgmt.service.impl.TaskDetailCache;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+
+/*
+* Gauges and counters over state the app already keeps (store sizes, cache and audit counters,
+* optimistic-lock conflicts, change-feed subscribers, pending deadlines). Nothing is counted twice: every meter reads its value when scraped.
+* Request and service-call timers come from Spring MVC (http.server.requests) and @Timed (task.service).
+* */
+@Component
+public class TaskMetrics implements MeterBinder {
+
+    private final TaskRepository taskRepository;
+    private final TaskDetailCache detailCache;
+    private final AuditLog auditLog;
+    private final TaskManagementServiceImpl taskService;
+    private final TaskChangeFeed changeFeed;
+    private final DeadlineEscalator escalator;
+
+
+    public TaskMetrics(TaskRepository taskRepository, TaskDetailCache detailCache, AuditLog auditLog,
+                       TaskManagementServiceImpl taskService, TaskChangeFeed changeFeed, DeadlineEscalator escalator) {
+        this.taskRepository = taskRepository;
+        this.detailCache = detailCache;
+        this.auditLog = auditLog;
+        this.taskService = taskService;
+        this.changeFeed = changeFeed;
+        this.escalator = escalator;
+    }
+
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        storeGauge(registry, "task.store.tasks", "tier", "hot", StoreStats::hotTasks);
+        storeGauge(registry, "task.store.tasks", "tier", "cold", StoreStats::coldTasks);
+        Gauge.builder("task.store.cold.garbage", taskRepository, repository -> repository.storeStats().coldGarbageBytes())
+                .description("Mapped cold-tier bytes left behind by rewritten descriptions")
+                .baseUnit("bytes")
+                .register(registry);
+        storeGauge(registry, "task.store.history.logs", "kind", "activity", StoreStats::activityLogs);
+        storeGauge(registry, "task.store.history.logs", "kind", "comment", StoreStats::commentLogs);
+        storeGauge(registry, "task.store.history.entries", "kind", "activity", StoreStats::activities);
+        storeGauge(registry, "task.store.history.entries", "kind", "comment", StoreStats::comments);
+        storeGauge(registry, "task.store.index.keys", "index", "assignee", StoreStats::assigneeKeys);
+        storeGauge(registry, "task.store.index.keys", "index", "reference", StoreStats::referenceKeys);
+        storeGauge(registry, "task.store.index.keys", "index", "open-deadline", StoreStats::openDeadlineKeys);
+
+        FunctionCounter.builder("task.optimistic-lock.conflicts", taskService, TaskManagementServiceImpl::optimisticLockConflicts)
+                .description("Compare-and-save attempts that lost to a concurrent update")
+                .register(registry);
+        FunctionCounter.builder("task.optimistic-lock.rejections", taskService, TaskManagementServiceImpl::optimisticLockRejections)
+                .description("Updates answered with 409 Conflict")
+                .register(registry);
+
+        FunctionCounter.builder("task.detail-cache.requests", detailCache, cache -> cache.stats().getHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("task.detail-cache.requests", detailCache, cache -> cache.stats().getMisses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("task.detail-cache.evictions", detailCache, cache -> cache.stats().getEvictions())
+                .register(registry);
+        Gauge.builder("task.detail-cache.size", detailCache, cache -> cache.stats().getSize())
+                .register(registry);
+
+        Gauge.builder("task.audit.queue.pending", auditLog, AuditLog::pending)
+                .description("Activities waiting for the audit writer")
+                .register(registry);
+        FunctionCounter.builder("task.audit.dropped", auditLog, AuditLog::droppedCount)
+                .description("Activities discarded under the DROP overflow policy")
+                .register(registry);
+
+        Gauge.builder("task.change-feed.subscribers", changeFeed, TaskChangeFeed::subscriberCount)
+                .register(registry);
+        FunctionCounter.builder("task.change-feed.overflows", changeFeed, TaskChangeFeed::overflowCount)
+                .description("Change streams cut off because the client fell behind its buffer")
+                .register(registry);
+
+        Gauge.builder("task.escalation.pending", escalator, DeadlineEscalator::pendingDeadlines)
+                .description("Deadlines waiting in the escalation wheel, including stale ones not yet due")
+                .register(registry);
+        FunctionCounter.builder("task.escalation.escalated", escalator, DeadlineEscalator::escalatedCount)
+                .description("Open tasks escalated after their deadline passed")
+                .register(registry);
+    }
+
+
+    private void storeGauge(MeterRegistry registry, String name, String tagKey, String tagValue, ToDoubleFunction<StoreStats> value) {
+        Gauge.builder(name, taskRepository, repository -> value.applyAsDouble(repository.storeStats()))
+                .tag(tagKey, tagValue)
+                .register(registry);
+    }
+}
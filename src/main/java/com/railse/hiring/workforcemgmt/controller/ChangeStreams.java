@@ -0,0 +1,126 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.config.BackgroundThreads;
+import com.railse.hiring.workforcemgmt.dto.TaskChangeDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.service.impl.TaskChangeFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+* Server-Sent Events for /changes. Each stream has its own sender thread draining its feed subscription,
+* so a slow client only ever holds up itself; the feed never waits on it. Event ids are feed offsets,
+* which is what EventSource sends back as Last-Event-ID on reconnect. At most max-subscribers streams
+* (and so sender threads) are open at once; open() turns further ones away until one ends.
+*
+* Besides the change events a stream can carry:
+*   reset     the resume offset is no longer retained: reload state, then carry on from this stream;
+*   overflow  the client fell too far behind and the stream ends: reconnect with Last-Event-ID.
+* A comment line goes out after heartbeat-seconds without changes, so dead connections are noticed.
+* */
+@Slf4j
+@Component
+class ChangeStreams {
+
+    private final TaskChangeFeed changeFeed;
+    private final ITaskManagementMapper taskMapper;
+    private final long heartbeatMillis;
+    private final long streamTimeoutMillis;
+    private final boolean virtualThreads;
+    private final int maxSubscribers;
+    // One permit per open stream, held by its sender thread until it exits
+    private final Semaphore streams;
+
+
+    ChangeStreams(TaskChangeFeed changeFeed, ITaskManagementMapper taskMapper,
+                  @Value("${task-mgmt.change-feed.heartbeat-seconds:15}") long heartbeatSeconds,
+                  @Value("${task-mgmt.change-feed.stream-timeout-ms:1800000}") long streamTimeoutMillis,
+                  @Value("${task-mgmt.change-feed.max-subscribers:256}") int maxSubscribers,
+                  @Value(BackgroundThreads.VIRTUAL_ENABLED) boolean virtualThreads) {
+        this.changeFeed = changeFeed;
+        this.taskMapper = taskMapper;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.virtualThreads = virtualThreads;
+        this.maxSubscribers = maxSubscribers;
+        this.streams = new Semaphore(maxSubscribers);
+    }
+
+
+    // Empty when max-subscribers streams are already open.
+    Optional<SseEmitter> open(TaskChangeFeed.Filter filter, Long afterOffset) {
+        if (!streams.tryAcquire()) {
+            log.debug("Refusing change stream: {} already open", maxSubscribers);
+            return Optional.empty();
+        }
+        TaskChangeFeed.Subscription subscription = null;
+        try {
+            SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+            subscription = changeFeed.subscribe(filter, afterOffset);
+            TaskChangeFeed.Subscription opened = subscription;
+            emitter.onCompletion(opened::close);
+            emitter.onTimeout(opened::close);
+            emitter.onError(error -> opened.close());
+            BackgroundThreads.start("change-stream", virtualThreads, () -> {
+                try {
+                    send(emitter, opened);
+                } finally {
+                    streams.release();
+                }
+            });
+            return Optional.of(emitter);
+        } catch (RuntimeException e) {
+            if (subscription != null) {
+                subscription.close();
+            }
+            streams.release();
+            throw e;
+        }
+    }
+
+
+    private void send(SseEmitter emitter, TaskChangeFeed.Subscription subscription) {
+        try {
+            if (subscription.missedChanges()) {
+                emitter.send(SseEmitter.event().name("reset").data("Changes after the requested offset are no longer retained"));
+            }
+            while (!subscription.isClosed()) {
+                TaskChangeFeed.Change change = subscription.next(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (change != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.offset()))
+                            .name(change.kind().name())
+                            .data(toDto(change), MediaType.APPLICATION_JSON));
+                } else if (subscription.overflowed()) {
+                    emitter.send(SseEmitter.event().name("overflow").data("Subscriber buffer full; reconnect with Last-Event-ID"));
+                    emitter.complete();
+                    subscription.close();
+                } else {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already completed
+            log.debug("Change stream closed: {}", e.getMessage());
+            subscription.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            subscription.close();
+            emitter.complete();
+        }
+    }
+
+    private TaskChangeDto toDto(TaskChangeFeed.Change change) {
+        return new TaskChangeDto(change.offset(), change.kind().name(), change.timestamp(),
+                taskMapper.modelToDto(change.task()), change.comment());
+    }
+}
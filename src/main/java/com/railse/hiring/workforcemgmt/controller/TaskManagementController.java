@@ -1,16 +1,28 @@
 package com.railse.hiring.workforcemgmt.controller;
 
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
 import com.railse.hiring.workforcemgmt.model.CommentOnTask;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
 import com.railse.hiring.workforcemgmt.model.response.Response;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import com.railse.hiring.workforcemgmt.service.impl.TaskChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/task-mgmt")
@@ -18,10 +30,15 @@ public class TaskManagementController {
 
 
     private final TaskManagementService taskManagementService;
+    private final ObjectWriter taskWriter;
+    private final ChangeStreams changeStreams;
 
 
-    public TaskManagementController(TaskManagementService taskManagementService) {
+    public TaskManagementController(TaskManagementService taskManagementService, ObjectMapper objectMapper,
+                                    ChangeStreams changeStreams) {
         this.taskManagementService = taskManagementService;
+        this.taskWriter = objectMapper.writerFor(TaskManagementDto.class);
+        this.changeStreams = changeStreams;
     }
 
 
@@ -30,10 +47,64 @@ public class TaskManagementController {
         return new Response<>(taskManagementService.findTaskById(id));
     }
 
+    // Dashboard counts per priority and status, optionally for one assignee
+    @GetMapping("/stats/counts")
+    public Response<TaskCountsDto> getTaskCounts(@RequestParam(name = "assignee_id", required = false) Long assigneeId) {
+        return new Response<>(taskManagementService.countTasks(assigneeId));
+    }
+
+    /*
+    * Change feed as Server-Sent Events, optionally narrowed to an assignee, priority or reference.
+    * Resumes after the Last-Event-ID header (sent by EventSource on reconnect) or the from_offset parameter.
+    * 503 with no body when task-mgmt.change-feed.max-subscribers streams are already open.
+    * */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(name = "assignee_id", required = false) Long assigneeId,
+                                                    @RequestParam(required = false) Priority priority,
+                                                    @RequestParam(name = "reference_id", required = false) Long referenceId,
+                                                    @RequestParam(name = "reference_type", required = false) ReferenceType referenceType,
+                                                    @RequestParam(name = "from_offset", required = false) Long fromOffset,
+                                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStreams.open(new TaskChangeFeed.Filter(assigneeId, priority, referenceId, referenceType),
+                        lastEventId != null ? lastEventId : fromOffset)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/stats/detail-cache")
+    public Response<CacheStatsDto> getDetailCacheStats() {
+        return new Response<>(taskManagementService.detailCacheStats());
+    }
+
+    @GetMapping("/{id}/activities")
+    public Response<List<Activity>> getTaskActivities(@PathVariable Long id,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
+        PageDto<Activity> page = taskManagementService.fetchActivities(id, cursor, limit);
+        return new Response<>(page.getItems(), page.getPagination());
+    }
+
+    @GetMapping("/{id}/comments")
+    public Response<List<Comment>> getTaskComments(@PathVariable Long id,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit) {
+        PageDto<Comment> page = taskManagementService.fetchComments(id, cursor, limit);
+        return new Response<>(page.getItems(), page.getPagination());
+    }
+
     //Feature 2 (2nd goal)-> fetch tasks by priority
     @GetMapping("/tasks/priority/{priority}")
-    public Response<List<TaskManagementDto>> getTaskByPriority(@PathVariable Priority priority) {
-        return new Response<>(taskManagementService.fetchTasksByPriority(priority));
+    public Response<List<TaskManagementDto>> getTaskByPriority(@PathVariable Priority priority,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit) {
+        PageDto<TaskManagementDto> page = taskManagementService.fetchTasksByPriority(priority, cursor, limit);
+        return new Response<>(page.getItems(), page.getPagination());
+    }
+
+    // Every task of the priority as NDJSON, one task per line, written while the listing is read
+    @GetMapping(value = "/tasks/priority/{priority}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksByPriority(@PathVariable Priority priority) {
+        return ndjson(sink -> taskManagementService.streamTasksByPriority(priority, sink));
     }
 
 
@@ -59,7 +130,23 @@ public class TaskManagementController {
 
     @PostMapping("/fetch-by-date/v2")
     public Response<List<TaskManagementDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
-        return new Response<>(taskManagementService.fetchTasksByDate(request));
+        PageDto<TaskManagementDto> page = taskManagementService.fetchTasksByDate(request);
+        return new Response<>(page.getItems(), page.getPagination());
+    }
+
+    // Open tasks of one assignee in deadline order, paged like /fetch-by-date/v2 but with no date window
+    @GetMapping("/assignees/{assigneeId}/open-tasks")
+    public Response<List<TaskManagementDto>> getOpenTasks(@PathVariable Long assigneeId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        PageDto<TaskManagementDto> page = taskManagementService.fetchOpenTasks(assigneeId, cursor, limit);
+        return new Response<>(page.getItems(), page.getPagination());
+    }
+
+    // NDJSON variant of /fetch-by-date/v2 without paging; cursor and limit are ignored
+    @PostMapping(value = "/fetch-by-date/v2/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByDate(@RequestBody TaskFetchByDateRequest request) {
+        return ndjson(sink -> taskManagementService.streamTasksByDate(request, sink));
     }
 
     //Feature 2 (1st goal)-> update priority
@@ -80,5 +167,24 @@ public class TaskManagementController {
 
     }
 
-}
 
+    // Each task is serialized and written on its own, so nothing but the current task is buffered here.
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<TaskManagementDto>> listing) {
+        StreamingResponseBody body = out -> {
+            try {
+                listing.accept(task -> {
+                    try {
+                        out.write(taskWriter.writeValueAsBytes(task));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+}
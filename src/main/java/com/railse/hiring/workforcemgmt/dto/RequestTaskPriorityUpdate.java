@@ -19,5 +19,7 @@ public class RequestTaskPriorityUpdate {
     public static class UpdatePriority{
         private Long taskId;
         private Priority priority;
+        // Optional: reject the update if the task is no longer at this version
+        private Long version;
     }
 }
@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One change-feed event: the task as written, and the comment for COMMENTED changes.
+@Data
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskChangeDto {
+    private long offset;
+    private String change;
+    private long timestamp;
+    private TaskManagementDto task;
+    private Comment comment;
+}
@@ -13,4 +13,7 @@ public class TaskFetchByDateRequest {
     private Long startDate;
     private Long endDate;
     private List<Long> assigneeIds;
+    // next_cursor of the previous page, absent for the first page
+    private String cursor;
+    private Integer limit;
 }
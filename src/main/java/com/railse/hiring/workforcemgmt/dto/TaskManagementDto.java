@@ -24,7 +24,11 @@ public class TaskManagementDto {
     private Long assigneeId;
     private Long taskDeadlineTime;
     private Priority priority;
+    private Long version;
+    // Newest entries only; the full history is paged through /{id}/activities and /{id}/comments
     private List<Activity> activityList;
     private List<Comment> commentList;
+    private Integer activityCount;
+    private Integer commentCount;
 }
 
@@ -22,6 +22,8 @@ public class UpdateTaskRequest {
         private Long taskId;
         private TaskStatus taskStatus;
         private String description;
+        // Optional: reject the update if the task is no longer at this version
+        private Long version;
     }
 }
 
@@ -21,6 +21,22 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
 
+    @ExceptionHandler(BadRequestException.class)
+    public final ResponseEntity<Response<Object>> handleBadRequestException(BadRequestException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+
+    @ExceptionHandler(OptimisticLockException.class)
+    public final ResponseEntity<Response<Object>> handleOptimisticLockException(OptimisticLockException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.CONFLICT.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<Response<Object>> handleAllExceptions(Exception ex) {
         ResponseStatus status = new ResponseStatus(StatusCode.INTERNAL_SERVER_ERROR.getCode(), "An unexpected error occurred: " + ex.getMessage());
@@ -8,6 +8,7 @@ public enum StatusCode {
     SUCCESS(200, "Success"),
     BAD_REQUEST(400, "Bad Request"),
     NOT_FOUND(404, "Resource Not Found"),
+    CONFLICT(409, "Conflict"),
     INTERNAL_SERVER_ERROR(500, "Internal Server Error");
 
 
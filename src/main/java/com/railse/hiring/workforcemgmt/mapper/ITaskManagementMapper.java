@@ -3,6 +3,7 @@ package com.railse.hiring.workforcemgmt.mapper;
 import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 
@@ -15,6 +16,10 @@ public interface ITaskManagementMapper {
     ITaskManagementMapper INSTANCE = Mappers.getMapper(ITaskManagementMapper.class);
 
 
+    @Mapping(target = "activityList", ignore = true)
+    @Mapping(target = "commentList", ignore = true)
+    @Mapping(target = "activityCount", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     TaskManagementDto modelToDto(TaskManagement model);
 
 
@@ -1,16 +1,107 @@
 package com.railse.hiring.workforcemgmt.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
 
-@Data
-@AllArgsConstructor
-public class Activity {
 
-    private LocalDateTime localDateTime;
-    private String name;
-    private String activity;
+/*
+* One entry of a task's audit history, stored as a structured event:
+* epoch millis, user name, event type, task id and an optional argument
+* (for PRIORITY_CHANGED the new priority, a shared enum-name string).
+* The repository swaps the user name for its shared copy when the entry is stored.
+*
+* The JSON shape is unchanged; localDateTime, name and activity are derived in the getters,
+* so the sentence is only built when a task's history is serialized.
+* */
+@JsonPropertyOrder({"localDateTime", "name", "activity"})
+public final class Activity {
+
+    private final long epochMillis;
+    private final String userName;
+    private final ActivityType type;
+    private final long taskId;
+    private final String argument;
+
+
+    private Activity(long epochMillis, String userName, ActivityType type, long taskId, String argument) {
+        this.epochMillis = epochMillis;
+        this.userName = userName;
+        this.type = Objects.requireNonNull(type, "type");
+        this.taskId = taskId;
+        this.argument = argument;
+    }
+
+    public static Activity of(long epochMillis, String userName, ActivityType type, long taskId, String argument) {
+        return new Activity(epochMillis, userName, type, taskId, argument);
+    }
+
+    public static Activity of(long epochMillis, String userName, ActivityType type, long taskId) {
+        return of(epochMillis, userName, type, taskId, null);
+    }
+
+
+    public LocalDateTime getLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    public String getName() {
+        return userName;
+    }
+
+    public String getActivity() {
+        return type.render(getName(), taskId, argument);
+    }
+
+    @JsonIgnore
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    @JsonIgnore
+    public ActivityType getType() {
+        return type;
+    }
+
+    @JsonIgnore
+    public long getTaskId() {
+        return taskId;
+    }
+
+    @JsonIgnore
+    public String getArgument() {
+        return argument;
+    }
+
+    public Activity withName(String userName) {
+        return new Activity(epochMillis, userName, type, taskId, argument);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Activity other)) {
+            return false;
+        }
+        return epochMillis == other.epochMillis && Objects.equals(userName, other.userName) && type == other.type
+                && taskId == other.taskId && Objects.equals(argument, other.argument);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(epochMillis, userName, type, taskId, argument);
+    }
+
+    @Override
+    public String toString() {
+        return "Activity(" + getLocalDateTime() + ", " + getActivity() + ")";
+    }
 }
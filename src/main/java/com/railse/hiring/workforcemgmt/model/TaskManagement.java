@@ -4,22 +4,28 @@ import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
-import lombok.Data;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
 
-import java.util.List;
-
-@Data
+/*
+* Immutable snapshot of a task. Changes are made on a copy (withX/toBuilder)
+* and swapped into the repository, so a snapshot can be shared between readers.
+* Activity and comment history live in the repository, not on the task.
+* version is assigned by the repository and bumped on every write.
+* */
+@Value
+@With
+@Builder(toBuilder = true)
 public class TaskManagement {
-    private Long id;
-    private Long referenceId;
-    private ReferenceType referenceType;
-    private Task task;
-    private String description;
-    private TaskStatus status;
-    private Long assigneeId; // Simplified from Entity for this assignment
-    private Long taskDeadlineTime;
-    private Priority priority;
-    private List<Activity> activityList;
-    private List<Comment> commentList;
+    Long id;
+    Long referenceId;
+    ReferenceType referenceType;
+    Task task;
+    String description;
+    TaskStatus status;
+    Long assigneeId; // Simplified from Entity for this assignment
+    Long taskDeadlineTime;
+    Priority priority;
+    long version;
 }
-
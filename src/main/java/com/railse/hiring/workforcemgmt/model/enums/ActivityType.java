@@ -0,0 +1,17 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+public enum ActivityType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    PRIORITY_CHANGED,
+    DEADLINE_ESCALATED;
+
+    public String render(String userName, long taskId, String argument) {
+        return switch (this) {
+            case TASK_CREATED -> "User " + userName + " created the task_id " + taskId + ".";
+            case TASK_UPDATED -> "User " + userName + " updated the task_id " + taskId + ".";
+            case PRIORITY_CHANGED -> "User " + userName + " changed the priority to " + argument + " of task_id " + taskId + ".";
+            case DEADLINE_ESCALATED -> "User " + userName + " escalated the task_id " + taskId + " to " + argument + " after its deadline passed.";
+        };
+    }
+}
@@ -4,6 +4,9 @@ public enum TaskStatus {
     ASSIGNED,
     STARTED,
     COMPLETED,
-    CANCELLED
-}
+    CANCELLED;
 
+    public boolean isClosed() {
+        return this == COMPLETED || this == CANCELLED;
+    }
+}
@@ -2,10 +2,18 @@ package com.railse.hiring.workforcemgmt.model.response;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class Pagination {
+    // Pass back as "cursor" to fetch the next page; null on the last page.
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer limit;
 }
@@ -0,0 +1,106 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/*
+* Concurrent append-only log used for the activity and comment history of a task.
+*
+* Entries live in chunks that double in size (8, 16, 32, ...), so a log never copies
+* what it already holds. An append reserves a slot with a single getAndIncrement and
+* writes into it; it never waits on other writers.
+*
+* Readers see the longest prefix of written slots. Slots never change once written,
+* so a snapshot taken at any time is consistent. An entry whose writer has not
+* finished yet hides the entries after it until it lands.
+* */
+public final class AppendOnlyLog<T> {
+
+    private static final int FIRST_CHUNK_BITS = 3;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+    private static final int MAX_CHUNKS = 28;
+    static final int CAPACITY = FIRST_CHUNK_SIZE * ((1 << MAX_CHUNKS) - 1);
+
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger reserved = new AtomicInteger();
+    // Lower bound of the written prefix, only ever moves forward.
+    private final AtomicInteger published = new AtomicInteger();
+
+
+    // Returns the position the entry was written at.
+    public int append(T entry) {
+        Objects.requireNonNull(entry, "entry");
+        int index = reserved.getAndIncrement();
+        if (index < 0 || index >= CAPACITY) {
+            reserved.decrementAndGet();
+            throw new IllegalStateException("Append-only log is full");
+        }
+        chunk(chunkOf(index)).set(offsetOf(index), entry);
+        return index;
+    }
+
+    // Number of entries visible to readers.
+    public int size() {
+        int size = published.get();
+        int limit = reserved.get();
+        while (size < limit && slot(size) != null) {
+            size++;
+        }
+        published.accumulateAndGet(size, Math::max);
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public List<T> snapshot() {
+        return slice(0, Integer.MAX_VALUE);
+    }
+
+    // Up to limit entries starting at position fromInclusive, clamped to what is visible now.
+    public List<T> slice(int fromInclusive, int limit) {
+        int from = Math.max(fromInclusive, 0);
+        int to = (int) Math.min((long) from + Math.max(limit, 0), size());
+        if (from >= to) {
+            return List.of();
+        }
+        Object[] entries = new Object[to - from];
+        for (int i = from; i < to; i++) {
+            entries[i - from] = slot(i);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> view = (List<T>) Collections.unmodifiableList(Arrays.asList(entries));
+        return view;
+    }
+
+
+    private T slot(int index) {
+        AtomicReferenceArray<T> chunk = chunks.get(chunkOf(index));
+        return chunk == null ? null : chunk.get(offsetOf(index));
+    }
+
+    private AtomicReferenceArray<T> chunk(int chunkIndex) {
+        AtomicReferenceArray<T> chunk = chunks.get(chunkIndex);
+        if (chunk != null) {
+            return chunk;
+        }
+        AtomicReferenceArray<T> created = new AtomicReferenceArray<>(FIRST_CHUNK_SIZE << chunkIndex);
+        return chunks.compareAndSet(chunkIndex, null, created) ? created : chunks.get(chunkIndex);
+    }
+
+    // Chunk c starts at FIRST_CHUNK_SIZE * (2^c - 1).
+    private static int chunkOf(int index) {
+        return (31 - Integer.numberOfLeadingZeros(index + FIRST_CHUNK_SIZE)) - FIRST_CHUNK_BITS;
+    }
+
+    private static int offsetOf(int index) {
+        int biased = index + FIRST_CHUNK_SIZE;
+        return biased - Integer.highestOneBit(biased);
+    }
+}
@@ -0,0 +1,418 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+
+/*
+* Off-heap tier for closed tasks.
+*
+* Rows are appended to memory-mapped segments of ROWS_PER_SEGMENT fixed-width rows, stored column
+* by column: id, version, referenceId, assigneeId, deadline, description offset, row sequence (8 bytes
+* each) and referenceType, task, status, priority ordinals (1 byte each), 60 bytes per task. Descriptions
+* go to a separate mapped string area and the id -> row index is a mapped open-addressing table, so a
+* demoted task leaves nothing on the heap here. The repository's own index entries for the task (the
+* assignee, priority and deadline sets) stay on-heap; demotion frees the task snapshot, not those.
+*
+* Backing files are deleted as soon as they are mapped: this tier trades heap for page cache,
+* durability is the write-ahead log's job. Re-storing an id (a task reopened and closed again)
+* overwrites its row, and its description in place when the new one fits the old one's slot. A
+* longer description gets a new slot and the old one stays mapped; garbageBytes() counts those.
+*
+* Reads take no lock. Writers serialize on writeLock and publish their work through volatiles: the
+* segment and string-chunk arrays are immutable and replaced whole when one is added, the index is
+* replaced whole when it grows, and rows become visible when published is raised past them. A row
+* that is overwritten in place is bracketed by its sequence column (odd while the write runs), so a
+* read that overlapped the write sees the sequence change and retries under writeLock.
+* */
+final class ColdTaskStore {
+
+    static final int ROWS_PER_SEGMENT = 1 << 16;
+    private static final int STRING_CHUNK_BYTES = 8 << 20;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final byte NULL_ORDINAL = -1;
+
+    private static final long ID = 0;
+    private static final long VERSION = 8L * ROWS_PER_SEGMENT;
+    private static final long REFERENCE_ID = 16L * ROWS_PER_SEGMENT;
+    private static final long ASSIGNEE_ID = 24L * ROWS_PER_SEGMENT;
+    private static final long DEADLINE = 32L * ROWS_PER_SEGMENT;
+    private static final long DESCRIPTION = 40L * ROWS_PER_SEGMENT;
+    private static final long SEQUENCE = 48L * ROWS_PER_SEGMENT;
+    private static final long REFERENCE_TYPE = 56L * ROWS_PER_SEGMENT;
+    private static final long TASK = 57L * ROWS_PER_SEGMENT;
+    private static final long STATUS = 58L * ROWS_PER_SEGMENT;
+    private static final long PRIORITY = 59L * ROWS_PER_SEGMENT;
+    private static final long SEGMENT_BYTES = 60L * ROWS_PER_SEGMENT;
+
+    // Ordered access to the sequence column; the mapping is page-aligned and so is every 8-byte column.
+    private static final VarHandle SEQUENCES = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    // Identity marker for a description that was read while its row was being rewritten
+    private static final String TORN = new String();
+
+    private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+    private static final Task[] TASKS = Task.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Path directory;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Mappings mappings = new Mappings(new MappedByteBuffer[0], new MappedByteBuffer[0]);
+    private volatile RowIndex rowById;
+    private volatile int published;
+    private volatile long garbageBytes;
+
+    // Guarded by writeLock
+    private int stringPosition = STRING_CHUNK_BYTES;
+
+
+    ColdTaskStore(Path directory) {
+        this.directory = directory;
+        this.rowById = new RowIndex(map(RowIndex.bytes(2 * ROWS_PER_SEGMENT)), 2 * ROWS_PER_SEGMENT);
+    }
+
+
+    TaskManagement get(long id) {
+        int row = rowById.get(id);
+        if (row < 0) {
+            return null;
+        }
+        // Reading published after the index entry orders the row's columns, written before it was raised, ahead of the decode.
+        if (row < published) {
+            TaskManagement task = readOptimistic(row);
+            if (task != null) {
+                return task;
+            }
+        }
+        writeLock.lock();
+        try {
+            row = rowById.get(id);
+            return row < 0 ? null : read(mappings, row);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Keeps the newer copy when the id is already here, so a late demotion cannot roll a task back.
+    void put(TaskManagement task) {
+        writeLock.lock();
+        try {
+            int existing = rowById.get(task.getId());
+            if (existing >= 0) {
+                if (version(existing) < task.getVersion()) {
+                    write(existing, task, segment(mappings, existing).getLong(index(DESCRIPTION, existing, 8)));
+                }
+                return;
+            }
+            int row = published;
+            if (row / ROWS_PER_SEGMENT == mappings.segments().length) {
+                mappings = mappings.withSegment(map(SEGMENT_BYTES));
+            }
+            write(row, task, NULL_LONG);
+            published = row + 1;
+            addToIndex(task.getId(), row);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // One row per id
+    int size() {
+        return published;
+    }
+
+    // Mapped string bytes no longer referenced by any row
+    long garbageBytes() {
+        return garbageBytes;
+    }
+
+    // Every row published when the call started, decoded; one per id.
+    void forEach(Consumer<TaskManagement> action) {
+        int rows = published;
+        for (int row = 0; row < rows; row++) {
+            TaskManagement task = readOptimistic(row);
+            if (task == null) {
+                writeLock.lock();
+                try {
+                    task = read(mappings, row);
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            action.accept(task);
+        }
+    }
+
+
+    // previousDescription is the row's current string address, reused when the new description fits.
+    private void write(int row, TaskManagement task, long previousDescription) {
+        MappedByteBuffer segment = segment(mappings, row);
+        int sequence = index(SEQUENCE, row, 8);
+        long before = (long) SEQUENCES.get(segment, sequence);
+        SEQUENCES.setVolatile(segment, sequence, before + 1);
+        VarHandle.storeStoreFence();
+        long description = writeString(task.getDescription(), previousDescription);
+        segment.putLong(index(ID, row, 8), task.getId());
+        segment.putLong(index(VERSION, row, 8), task.getVersion());
+        segment.putLong(index(REFERENCE_ID, row, 8), orNull(task.getReferenceId()));
+        segment.putLong(index(ASSIGNEE_ID, row, 8), orNull(task.getAssigneeId()));
+        segment.putLong(index(DEADLINE, row, 8), orNull(task.getTaskDeadlineTime()));
+        segment.putLong(index(DESCRIPTION, row, 8), description);
+        segment.put(index(REFERENCE_TYPE, row, 1), ordinal(task.getReferenceType()));
+        segment.put(index(TASK, row, 1), ordinal(task.getTask()));
+        segment.put(index(STATUS, row, 1), ordinal(task.getStatus()));
+        segment.put(index(PRIORITY, row, 1), ordinal(task.getPriority()));
+        SEQUENCES.setRelease(segment, sequence, before + 2);
+    }
+
+    // Null when a write to the row overlapped the read; the caller retries under writeLock.
+    private TaskManagement readOptimistic(int row) {
+        Mappings current = mappings;
+        MappedByteBuffer segment = segment(current, row);
+        int sequence = index(SEQUENCE, row, 8);
+        long before = (long) SEQUENCES.getAcquire(segment, sequence);
+        if ((before & 1) != 0) {
+            return null;
+        }
+        TaskManagement task = read(current, row);
+        VarHandle.acquireFence();
+        return task != null && (long) SEQUENCES.getVolatile(segment, sequence) == before ? task : null;
+    }
+
+    // Only null for a torn description, which cannot happen under writeLock.
+    private static TaskManagement read(Mappings mappings, int row) {
+        MappedByteBuffer segment = segment(mappings, row);
+        String description = readString(mappings, segment.getLong(index(DESCRIPTION, row, 8)));
+        if (description == TORN) {
+            return null;
+        }
+        return TaskManagement.builder()
+                .id(segment.getLong(index(ID, row, 8)))
+                .version(segment.getLong(index(VERSION, row, 8)))
+                .referenceId(fromNull(segment.getLong(index(REFERENCE_ID, row, 8))))
+                .assigneeId(fromNull(segment.getLong(index(ASSIGNEE_ID, row, 8))))
+                .taskDeadlineTime(fromNull(segment.getLong(index(DEADLINE, row, 8))))
+                .description(description)
+                .referenceType(constant(REFERENCE_TYPES, segment.get(index(REFERENCE_TYPE, row, 1))))
+                .task(constant(TASKS, segment.get(index(TASK, row, 1))))
+                .status(constant(STATUSES, segment.get(index(STATUS, row, 1))))
+                .priority(constant(PRIORITIES, segment.get(index(PRIORITY, row, 1))))
+                .build();
+    }
+
+    private long version(int row) {
+        return segment(mappings, row).getLong(index(VERSION, row, 8));
+    }
+
+    private void addToIndex(long id, int row) {
+        RowIndex index = rowById;
+        if (index.size + 1 > index.capacity / 2) {
+            RowIndex grown = new RowIndex(map(RowIndex.bytes(index.capacity * 2)), index.capacity * 2);
+            index.copyTo(grown);
+            rowById = index = grown;
+        }
+        index.put(id, row);
+    }
+
+    /*
+    * Strings are addressed as chunk << 32 | position and stored as int capacity, int length, then UTF-8 bytes.
+    * A rewrite that fits the capacity stays in place; otherwise the old slot becomes garbage.
+    * */
+    private long writeString(String value, long previous) {
+        MappedByteBuffer[] chunks = mappings.strings();
+        int previousCapacity = previous == NULL_LONG ? -1 : chunks[(int) (previous >>> 32)].getInt((int) previous);
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes != null && bytes.length <= previousCapacity) {
+            MappedByteBuffer chunk = chunks[(int) (previous >>> 32)];
+            chunk.putInt((int) previous + Integer.BYTES, bytes.length);
+            chunk.put((int) previous + 2 * Integer.BYTES, bytes);
+            return previous;
+        }
+        if (previousCapacity >= 0) {
+            garbageBytes += 2 * Integer.BYTES + previousCapacity;
+        }
+        if (bytes == null) {
+            return NULL_LONG;
+        }
+        int needed = 2 * Integer.BYTES + bytes.length;
+        if (chunks.length == 0 || STRING_CHUNK_BYTES - stringPosition < needed) {
+            mappings = mappings.withStrings(map(Math.max(STRING_CHUNK_BYTES, needed)));
+            chunks = mappings.strings();
+            stringPosition = 0;
+        }
+        MappedByteBuffer chunk = chunks[chunks.length - 1];
+        long address = ((long) (chunks.length - 1) << 32) | stringPosition;
+        chunk.putInt(stringPosition, bytes.length);
+        chunk.putInt(stringPosition + Integer.BYTES, bytes.length);
+        chunk.put(stringPosition + 2 * Integer.BYTES, bytes);
+        // An oversized chunk holds just this one string.
+        stringPosition = needed > STRING_CHUNK_BYTES ? STRING_CHUNK_BYTES : stringPosition + needed;
+        return address;
+    }
+
+    // Bounds-checks everything it reads, since an optimistic read can see an address or length mid-rewrite.
+    private static String readString(Mappings mappings, long address) {
+        if (address == NULL_LONG) {
+            return null;
+        }
+        int chunkIndex = (int) (address >>> 32);
+        int position = (int) address;
+        if (chunkIndex < 0 || chunkIndex >= mappings.strings().length) {
+            return TORN;
+        }
+        MappedByteBuffer chunk = mappings.strings()[chunkIndex];
+        if (position < 0 || position > chunk.capacity() - 2 * Integer.BYTES) {
+            return TORN;
+        }
+        int length = chunk.getInt(position + Integer.BYTES);
+        if (length < 0 || length > chunk.getInt(position) || length > chunk.capacity() - position - 2 * Integer.BYTES) {
+            return TORN;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(position + 2 * Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer map(long bytes) {
+        try {
+            Files.createDirectories(directory);
+            Path file = Files.createTempFile(directory, "cold-tasks-", ".seg");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                // The mapping outlives both the channel and the directory entry.
+                Files.delete(file);
+                return buffer;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map cold task segment in " + directory, e);
+        }
+    }
+
+    private static MappedByteBuffer segment(Mappings mappings, int row) {
+        return mappings.segments()[row / ROWS_PER_SEGMENT];
+    }
+
+    private static int index(long column, int row, int width) {
+        return (int) (column + (long) (row % ROWS_PER_SEGMENT) * width);
+    }
+
+    private static long orNull(Long value) {
+        return value == null ? NULL_LONG : value;
+    }
+
+    private static Long fromNull(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NULL_ORDINAL : (byte) value.ordinal();
+    }
+
+    private static <E> E constant(E[] constants, byte ordinal) {
+        return ordinal == NULL_ORDINAL ? null : constants[ordinal];
+    }
+
+
+    // Never changed once published; adding a mapping publishes a copy.
+    private record Mappings(MappedByteBuffer[] segments, MappedByteBuffer[] strings) {
+
+        Mappings withSegment(MappedByteBuffer segment) {
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+            grown[segments.length] = segment;
+            return new Mappings(grown, strings);
+        }
+
+        Mappings withStrings(MappedByteBuffer chunk) {
+            MappedByteBuffer[] grown = Arrays.copyOf(strings, strings.length + 1);
+            grown[strings.length] = chunk;
+            return new Mappings(segments, grown);
+        }
+    }
+
+
+    /*
+    * Mapped id -> row table with linear probing: a long key column, then an int column holding row + 1,
+    * where 0 marks an empty slot. A slot's key is written before its row, and never changes after, so a
+    * lock-free get() racing put() either finds the finished entry or misses an id that is not published yet.
+    * put() is only called under writeLock; the table is replaced, not grown in place, at half load.
+    * */
+    private static final class RowIndex {
+        private final MappedByteBuffer slots;
+        private final int capacity;
+        private int size;
+
+        RowIndex(MappedByteBuffer slots, int capacity) {
+            this.slots = slots;
+            this.capacity = capacity;
+        }
+
+        static long bytes(int capacity) {
+            return (long) capacity * (Long.BYTES + Integer.BYTES);
+        }
+
+        int get(long id) {
+            int mask = capacity - 1;
+            for (int slot = slot(id, mask), probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+                int row = slots.getInt(rowAt(slot));
+                if (row == 0) {
+                    return -1;
+                }
+                if (slots.getLong(slot * Long.BYTES) == id) {
+                    return row - 1;
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int row) {
+            int mask = capacity - 1;
+            int slot = slot(id, mask);
+            while (slots.getInt(rowAt(slot)) != 0 && slots.getLong(slot * Long.BYTES) != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots.getInt(rowAt(slot)) == 0) {
+                slots.putLong(slot * Long.BYTES, id);
+                size++;
+            }
+            slots.putInt(rowAt(slot), row + 1);
+        }
+
+        void copyTo(RowIndex other) {
+            for (int slot = 0; slot < capacity; slot++) {
+                int row = slots.getInt(rowAt(slot));
+                if (row != 0) {
+                    other.put(slots.getLong(slot * Long.BYTES), row - 1);
+                }
+            }
+        }
+
+        private int rowAt(int slot) {
+            return capacity * Long.BYTES + slot * Integer.BYTES;
+        }
+
+        // Fibonacci hashing spreads sequential ids over the table.
+        private static int slot(long id, int mask) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+
+// The original ConcurrentHashMap<Long, TaskManagement> table; every call boxes the id.
+final class ConcurrentMapTaskTable implements TaskTable {
+
+    private final Map<Long, TaskManagement> tasks = new ConcurrentHashMap<>();
+
+
+    @Override
+    public TaskManagement get(long id) {
+        return tasks.get(id);
+    }
+
+    @Override
+    public TaskManagement compute(long id, Remapper remapper) {
+        return tasks.compute(id, (key, current) -> remapper.apply(key, current));
+    }
+
+    @Override
+    public boolean remove(long id, long expectedVersion) {
+        TaskManagement current = tasks.get(id);
+        return current != null && current.getVersion() == expectedVersion && tasks.remove(id, current);
+    }
+
+    @Override
+    public void forEach(Consumer<TaskManagement> action) {
+        tasks.values().forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+}
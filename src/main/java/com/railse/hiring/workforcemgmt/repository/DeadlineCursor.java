@@ -0,0 +1,29 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+/*
+* Position in deadline order: tasks are ordered by deadline, then by id.
+* Also used as the keyset cursor for date-window pages, encoded as "<deadline>_<taskId>".
+* */
+public record DeadlineCursor(long deadline, long taskId) implements Comparable<DeadlineCursor> {
+
+    private static final char SEPARATOR = '_';
+
+    public static DeadlineCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || separator == cursor.length() - 1) {
+            throw new IllegalArgumentException("Malformed deadline cursor: " + cursor);
+        }
+        return new DeadlineCursor(Long.parseLong(cursor.substring(0, separator)),
+                Long.parseLong(cursor.substring(separator + 1)));
+    }
+
+    public String encode() {
+        return Long.toString(deadline) + SEPARATOR + taskId;
+    }
+
+    @Override
+    public int compareTo(DeadlineCursor other) {
+        int byDeadline = Long.compare(deadline, other.deadline);
+        return byDeadline != 0 ? byDeadline : Long.compare(taskId, other.taskId);
+    }
+}
@@ -0,0 +1,483 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.config.BackgroundThreads;
+import com.railse.hiring.workforcemgmt.model.*;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+
+/*
+* Durable variant of the in-memory store, enabled with task-mgmt.storage.mode=wal.
+*
+* Reads go straight to an InMemoryTaskRepository. Every write is applied in memory first and the
+* resulting state (task with its new version, or the history entry) is appended to a write-ahead log;
+* the call returns once the log's group commit has made it durable.
+*
+* A periodic checkpoint rotates the log, writes a full snapshot and drops the segments it covers,
+* so restart time is bounded by snapshot size plus the log written since. Writers hold the shared
+* side of checkpointLock only while applying and enqueuing; the checkpoint takes the exclusive side
+* just long enough to rotate the log and copy out task references and history lengths.
+* History entries of one task are appended in memory and to the log under that task's stripe lock,
+* so the log has them in the order readers saw, and history positions (the paging cursors) survive a restart.
+* */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "task-mgmt.storage.mode", havingValue = "wal")
+public class DurableTaskRepository implements TaskRepository, AutoCloseable {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int SNAPSHOT_MAGIC = 0x544D5332; // "TMS2": structured activities
+    private static final int HISTORY_LOCK_STRIPES = 64;
+
+    private final Path directory;
+    private final InMemoryTaskRepository delegate;
+    private final WriteAheadLog wal;
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] historyLocks = new ReentrantLock[HISTORY_LOCK_STRIPES];
+    private final ScheduledExecutorService checkpointer;
+    private final long snapshotIntervalMillis;
+    private final long snapshotWalBytes;
+    private volatile long lastCheckpointMillis = System.currentTimeMillis();
+
+
+    public DurableTaskRepository(@Value("${task-mgmt.storage.wal.dir:./data}") String directory,
+                                 @Value("${task-mgmt.storage.wal.fsync:true}") boolean fsync,
+                                 @Value("${task-mgmt.storage.snapshot.interval-seconds:300}") long snapshotIntervalSeconds,
+                                 @Value("${task-mgmt.storage.snapshot.wal-bytes:268435456}") long snapshotWalBytes,
+                                 @Value("${task-mgmt.storage.task-table:primitive}") String taskTable,
+                                 @Value("${task-mgmt.storage.cold-tier.enabled:false}") boolean coldTier,
+                                 @Value("${task-mgmt.storage.cold-tier.dir:${java.io.tmpdir}}") String coldTierDir,
+                                 @Value(BackgroundThreads.VIRTUAL_ENABLED) boolean virtualThreads) throws IOException {
+        this.directory = Paths.get(directory);
+        this.snapshotIntervalMillis = TimeUnit.SECONDS.toMillis(snapshotIntervalSeconds);
+        this.snapshotWalBytes = snapshotWalBytes;
+        for (int i = 0; i < historyLocks.length; i++) {
+            historyLocks[i] = new ReentrantLock();
+        }
+        Files.createDirectories(this.directory);
+
+        Optional<Path> snapshot = latestSnapshot();
+        long lastSegment = WriteAheadLog.lastSegmentIndex(this.directory);
+        boolean fresh = snapshot.isEmpty() && lastSegment < 0;
+        this.delegate = new InMemoryTaskRepository(fresh, TaskTable.create(taskTable),
+                coldTier ? new ColdTaskStore(Paths.get(coldTierDir)) : null);
+
+        long startedAt = System.nanoTime();
+        long firstSegment = 0;
+        if (snapshot.isPresent()) {
+            firstSegment = readSnapshot(snapshot.get());
+        }
+        WriteAheadLog.replay(this.directory, firstSegment, this::apply);
+        if (!fresh) {
+            log.info("Restored task store from {} in {} ms", this.directory,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+
+        // Never append to a segment that may end in a torn record.
+        this.wal = new WriteAheadLog(this.directory, Math.max(lastSegment, firstSegment - 1) + 1, fsync,
+                BackgroundThreads.factory("wal-flusher", virtualThreads));
+        if (fresh) {
+            checkpoint(); // persists the seed tasks
+        }
+
+        this.checkpointer = Executors.newSingleThreadScheduledExecutor(
+                BackgroundThreads.factory("wal-checkpoint", virtualThreads));
+        this.checkpointer.scheduleWithFixedDelay(this::checkpointIfDue, 1, 1, TimeUnit.SECONDS);
+    }
+
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Map<Long, TaskManagement> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        TaskManagement stored;
+        long lsn;
+        checkpointLock.readLock().lock();
+        try {
+            stored = delegate.save(task);
+            lsn = wal.append(TaskRecordCodec.TASK, TaskRecordCodec.taskRecord(stored));
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        wal.awaitDurable(lsn);
+        return stored;
+    }
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<TaskManagement> stored;
+        long lsn = 0;
+        checkpointLock.readLock().lock();
+        try {
+            stored = delegate.saveAll(tasks);
+            for (TaskManagement task : stored) {
+                lsn = wal.append(TaskRecordCodec.TASK, TaskRecordCodec.taskRecord(task));
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        wal.awaitDurable(lsn);
+        return stored;
+    }
+
+    @Override
+    public Optional<TaskManagement> compareAndSave(TaskManagement task) {
+        Optional<TaskManagement> stored;
+        long lsn = 0;
+        checkpointLock.readLock().lock();
+        try {
+            stored = delegate.compareAndSave(task);
+            if (stored.isPresent()) {
+                lsn = wal.append(TaskRecordCodec.TASK, TaskRecordCodec.taskRecord(stored.get()));
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        wal.awaitDurable(lsn);
+        return stored;
+    }
+
+    @Override
+    public List<TaskManagement> findAll(Long afterId, int limit) {
+        return delegate.findAll(afterId, limit);
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        return delegate.findByReferenceIdAndReferenceType(referenceId, referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return delegate.findByAssigneeIdIn(assigneeIds);
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority, Long afterId, int limit) {
+        return delegate.findByPriority(priority, afterId, limit);
+    }
+
+    @Override
+    public List<TaskManagement> findOpenByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, long fromInclusive, long toExclusive,
+                                                                         DeadlineCursor after, int limit) {
+        return delegate.findOpenByAssigneeIdInAndDeadlineBetween(assigneeIds, fromInclusive, toExclusive, after, limit);
+    }
+
+    @Override
+    public List<TaskManagement> findOpenByAssigneeId(Long assigneeId, DeadlineCursor after, int limit) {
+        return delegate.findOpenByAssigneeId(assigneeId, after, limit);
+    }
+
+    @Override
+    public void saveTask(ActivityOnTask activityOnTask) {
+        appendActivities(List.of(activityOnTask));
+    }
+
+    @Override
+    public void appendActivities(List<ActivityOnTask> activities) {
+        long lsn = 0;
+        checkpointLock.readLock().lock();
+        try {
+            // One run of consecutive entries for the same task at a time, each under that task's lock
+            int start = 0;
+            while (start < activities.size()) {
+                Long taskId = activities.get(start).getTaskId();
+                int end = start + 1;
+                while (end < activities.size() && taskId.equals(activities.get(end).getTaskId())) {
+                    end++;
+                }
+                List<ActivityOnTask> run = activities.subList(start, end);
+                ReentrantLock historyLock = historyLock(taskId);
+                historyLock.lock();
+                try {
+                    delegate.appendActivities(run);
+                    for (ActivityOnTask activityOnTask : run) {
+                        lsn = wal.append(TaskRecordCodec.ACTIVITY,
+                                TaskRecordCodec.activityRecord(taskId, activityOnTask.getActivity()));
+                    }
+                } finally {
+                    historyLock.unlock();
+                }
+                start = end;
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        wal.awaitDurable(lsn);
+    }
+
+    @Override
+    public List<Activity> findActivityByTaskId(Long taskId) {
+        return delegate.findActivityByTaskId(taskId);
+    }
+
+    @Override
+    public List<Activity> findActivityByTaskId(Long taskId, int fromPosition, int limit) {
+        return delegate.findActivityByTaskId(taskId, fromPosition, limit);
+    }
+
+    @Override
+    public int countActivityByTaskId(Long taskId) {
+        return delegate.countActivityByTaskId(taskId);
+    }
+
+    @Override
+    public void saveCommentByTaskId(CommentOnTask commentOnTask) {
+        long lsn;
+        ReentrantLock historyLock = historyLock(commentOnTask.getTaskId());
+        checkpointLock.readLock().lock();
+        historyLock.lock();
+        try {
+            delegate.saveCommentByTaskId(commentOnTask);
+            lsn = wal.append(TaskRecordCodec.COMMENT,
+                    TaskRecordCodec.commentRecord(commentOnTask.getTaskId(), commentOnTask.getComments()));
+        } finally {
+            historyLock.unlock();
+            checkpointLock.readLock().unlock();
+        }
+        wal.awaitDurable(lsn);
+    }
+
+    @Override
+    public List<Comment> findCommentsByTaskId(Long taskId) {
+        return delegate.findCommentsByTaskId(taskId);
+    }
+
+    @Override
+    public List<Comment> findCommentsByTaskId(Long taskId, int fromPosition, int limit) {
+        return delegate.findCommentsByTaskId(taskId, fromPosition, limit);
+    }
+
+    @Override
+    public int countCommentsByTaskId(Long taskId) {
+        return delegate.countCommentsByTaskId(taskId);
+    }
+
+    @Override
+    public Map<Priority, Map<TaskStatus, Long>> countByPriorityAndStatus(Long assigneeId) {
+        return delegate.countByPriorityAndStatus(assigneeId);
+    }
+
+    @Override
+    public StoreStats storeStats() {
+        return delegate.storeStats();
+    }
+
+
+    /*
+    * Writes snapshot-N covering everything logged before segment N, then drops those segments.
+    * The snapshot goes to a temp file first and is renamed into place only once it is complete and forced.
+    * */
+    void checkpoint() throws IOException {
+        long segment;
+        InMemoryTaskRepository.StateCut cut;
+        checkpointLock.writeLock().lock();
+        try {
+            segment = wal.rotate();
+            cut = delegate.captureState();
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+        long startedAt = System.nanoTime();
+        Path target = snapshotPath(segment);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        writeSnapshot(temp, segment, cut);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory();
+        for (Path snapshot : snapshots()) {
+            if (!snapshot.equals(target)) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        wal.deleteSegmentsBefore(segment);
+        lastCheckpointMillis = System.currentTimeMillis();
+        log.info("Wrote snapshot {} with {} tasks in {} ms", target.getFileName(), cut.tasks().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkpointer.shutdown();
+        try {
+            checkpointer.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A final snapshot keeps the next start-up from replaying the whole log.
+        checkpoint();
+        wal.close();
+    }
+
+
+    private ReentrantLock historyLock(Long taskId) {
+        int hash = taskId.hashCode();
+        hash ^= (hash >>> 16);
+        return historyLocks[hash & (HISTORY_LOCK_STRIPES - 1)];
+    }
+
+    private void checkpointIfDue() {
+        try {
+            boolean intervalElapsed = System.currentTimeMillis() - lastCheckpointMillis >= snapshotIntervalMillis;
+            long walBytes = wal.segmentBytes();
+            if ((intervalElapsed && walBytes > 0) || walBytes >= snapshotWalBytes) {
+                checkpoint();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Keep the schedule alive; the log still holds everything.
+            log.error("Checkpoint failed", e);
+        }
+    }
+
+    private void apply(byte type, ByteBuffer payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                payload.array(), payload.arrayOffset() + payload.position(), payload.remaining()));
+        switch (type) {
+            case TaskRecordCodec.TASK -> delegate.restore(TaskRecordCodec.readTask(in));
+            case TaskRecordCodec.ACTIVITY -> delegate.saveTask(new ActivityOnTask(in.readLong(), TaskRecordCodec.readActivity(in)));
+            case TaskRecordCodec.COMMENT -> delegate.saveCommentByTaskId(new CommentOnTask(in.readLong(), TaskRecordCodec.readComment(in)));
+            default -> throw new IOException("Unknown write-ahead log record type " + type);
+        }
+    }
+
+    /*
+    * Layout: magic, segment, lastIssuedId, tasks, activity logs, comment logs, magic.
+    * The trailing magic tells a complete snapshot from a truncated one.
+    * */
+    private void writeSnapshot(Path file, long segment, InMemoryTaskRepository.StateCut cut) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(segment);
+            out.writeLong(cut.lastIssuedId());
+            out.writeInt(cut.tasks().size());
+            for (TaskManagement task : cut.tasks()) {
+                TaskRecordCodec.writeTask(out, task);
+            }
+            out.writeInt(cut.activityCounts().size());
+            for (Map.Entry<Long, Integer> log : cut.activityCounts().entrySet()) {
+                List<Activity> activities = delegate.findActivityByTaskId(log.getKey(), 0, log.getValue());
+                out.writeLong(log.getKey());
+                out.writeInt(activities.size());
+                for (Activity activity : activities) {
+                    TaskRecordCodec.writeActivity(out, activity);
+                }
+            }
+            out.writeInt(cut.commentCounts().size());
+            for (Map.Entry<Long, Integer> log : cut.commentCounts().entrySet()) {
+                List<Comment> comments = delegate.findCommentsByTaskId(log.getKey(), 0, log.getValue());
+                out.writeLong(log.getKey());
+                out.writeInt(comments.size());
+                for (Comment comment : comments) {
+                    TaskRecordCodec.writeComment(out, comment);
+                }
+            }
+            out.writeInt(SNAPSHOT_MAGIC);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // Returns the first log segment that is not covered by the snapshot.
+    private long readSnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a task snapshot: " + file);
+            }
+            long segment = in.readLong();
+            delegate.restoreLastIssuedId(in.readLong());
+            for (int i = in.readInt(); i > 0; i--) {
+                delegate.restore(TaskRecordCodec.readTask(in));
+            }
+            for (int logs = in.readInt(); logs > 0; logs--) {
+                long taskId = in.readLong();
+                List<ActivityOnTask> activities = new ArrayList<>();
+                for (int i = in.readInt(); i > 0; i--) {
+                    activities.add(new ActivityOnTask(taskId, TaskRecordCodec.readActivity(in)));
+                }
+                delegate.appendActivities(activities);
+            }
+            for (int logs = in.readInt(); logs > 0; logs--) {
+                long taskId = in.readLong();
+                for (int i = in.readInt(); i > 0; i--) {
+                    delegate.saveCommentByTaskId(new CommentOnTask(taskId, TaskRecordCodec.readComment(in)));
+                }
+            }
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Truncated task snapshot: " + file);
+            }
+            return segment;
+        }
+    }
+
+    private Optional<Path> latestSnapshot() throws IOException {
+        List<Path> snapshots = snapshots();
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    // Zero-padded names, so name order is segment order.
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, segment, SNAPSHOT_SUFFIX));
+    }
+
+    // Makes the rename itself durable; not every platform allows opening a directory.
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Could not force directory {}", directory, e);
+        }
+    }
+}
@@ -5,28 +5,84 @@ import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 
 @Repository
+@ConditionalOnProperty(name = "task-mgmt.storage.mode", havingValue = "memory", matchIfMissing = true)
 public class InMemoryTaskRepository implements TaskRepository {
 
+    // Distinct author names shared between history entries; later names are stored unshared
+    private static final int USER_NAME_CAPACITY = 1 << 16;
 
-    private final Map<Long, TaskManagement> taskStore = new ConcurrentHashMap<>();
+    // Hot tier. Closed tasks move to coldStore (when enabled) and are read through from there.
+    private final TaskTable taskStore;
+    private final ColdTaskStore coldStore;
     private final AtomicLong idCounter = new AtomicLong(0);
-    private final Map<Long, List<Activity>> activityOnTaskMap=new ConcurrentHashMap<>();
-    private final Map<Long, List<Comment>> commentOnTaskMap=new ConcurrentHashMap<>();
+    private final Map<Long, AppendOnlyLog<Activity>> activityOnTaskMap=new ConcurrentHashMap<>();
+    private final Map<Long, AppendOnlyLog<Comment>> commentOnTaskMap=new ConcurrentHashMap<>();
+    // Author names shared by the history entries of this store
+    private final UserNames userNames = new UserNames(USER_NAME_CAPACITY);
+    // Total history entries, so gauges do not have to walk every log
+    private final LongAdder activityEntries = new LongAdder();
+    private final LongAdder commentEntries = new LongAdder();
+
+    // Secondary indexes, task ids kept in id order. Maintained inside taskStore.compute() of the task.
+    private final Map<Long, NavigableSet<Long>> assigneeIndex = new ConcurrentHashMap<>();
+    private final Map<ReferenceKey, NavigableSet<Long>> referenceIndex = new ConcurrentHashMap<>();
+    private final Map<Priority, NavigableSet<Long>> priorityIndex = new EnumMap<>(Priority.class);
+    // Open tasks (not COMPLETED/CANCELLED) with a deadline, per assignee, ordered by deadline then id.
+    private final OpenTaskView openTasks = new OpenTaskView();
+    // Counts per priority x status (x assignee), maintained alongside the indexes
+    private final TaskAggregates aggregates = new TaskAggregates();
 
     public InMemoryTaskRepository() {
+        this(true, new PrimitiveTaskTable(), null);
+    }
+
+    @Autowired
+    public InMemoryTaskRepository(@Value("${task-mgmt.storage.task-table:primitive}") String taskTable,
+                                  @Value("${task-mgmt.storage.cold-tier.enabled:false}") boolean coldTier,
+                                  @Value("${task-mgmt.storage.cold-tier.dir:${java.io.tmpdir}}") String coldTierDir) {
+        this(true, TaskTable.create(taskTable), coldTier ? new ColdTaskStore(Paths.get(coldTierDir)) : null);
+    }
+
+    // seed=false for a store that is about to be restored from disk.
+    InMemoryTaskRepository(boolean seed, TaskTable taskStore, ColdTaskStore coldStore) {
+        this.taskStore = taskStore;
+        this.coldStore = coldStore;
+        for (Priority priority : Priority.values()) {
+            priorityIndex.put(priority, new ConcurrentSkipListSet<>());
+        }
+        if (!seed) {
+            return;
+        }
         // Seed data
         createSeedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH);
         createSeedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH);
@@ -38,91 +94,472 @@ public class InMemoryTaskRepository implements TaskRepository {
 
 
     private void createSeedTask(Long refId, ReferenceType refType, Task task, Long assigneeId, TaskStatus status, Priority priority) {
-        long newId = idCounter.incrementAndGet();
-        TaskManagement newTask = new TaskManagement();
-        newTask.setId(newId);
-        newTask.setReferenceId(refId);
-        newTask.setReferenceType(refType);
-        newTask.setTask(task);
-        newTask.setAssigneeId(assigneeId);
-        newTask.setStatus(status);
-        newTask.setPriority(priority);
-        newTask.setDescription("This is a seed task.");
-        newTask.setTaskDeadlineTime(System.currentTimeMillis() + 86400000); // 1 day from now
-        taskStore.put(newId, newTask);
+        save(TaskManagement.builder()
+                .referenceId(refId)
+                .referenceType(refType)
+                .task(task)
+                .assigneeId(assigneeId)
+                .status(status)
+                .priority(priority)
+                .description("This is a seed task.")
+                .taskDeadlineTime(System.currentTimeMillis() + 86400000) // 1 day from now
+                .build());
     }
 
 
     @Override
     public Optional<TaskManagement> findById(Long id) {
-        return Optional.ofNullable(taskStore.get(id));
+        return Optional.ofNullable(lookup(id));
+    }
+
+
+    @Override
+    public Map<Long, TaskManagement> findAllById(Collection<Long> ids) {
+        Map<Long, TaskManagement> tasks = new HashMap<>(Math.max(ids.size() * 4 / 3 + 1, 16));
+        for (Long id : ids) {
+            TaskManagement task = lookup(id);
+            if (task != null) {
+                tasks.put(id, task);
+            }
+        }
+        return tasks;
     }
 
 
+    // Unconditional write; use compareAndSave for read-modify-write.
     @Override
     public TaskManagement save(TaskManagement task) {
+        return store(task.getId() == null ? task.withId(idCounter.incrementAndGet()) : task);
+    }
+
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        long newTasks = tasks.stream().filter(task -> task.getId() == null).count();
+        long nextId = idCounter.getAndAdd(newTasks) + 1;
+        List<TaskManagement> stored = new ArrayList<>(tasks.size());
+        for (TaskManagement task : tasks) {
+            stored.add(store(task.getId() == null ? task.withId(nextId++) : task));
+        }
+        return stored;
+    }
+
+
+    private TaskManagement store(TaskManagement toStore) {
+        TaskManagement stored = taskStore.compute(toStore.getId(), (id, hot) -> {
+            TaskManagement previous = hot != null ? hot : cold(id);
+            TaskManagement updated = toStore.withVersion(previous == null ? 1 : previous.getVersion() + 1);
+            reindex(previous, updated);
+            return updated;
+        });
+        demoteIfClosed(stored);
+        return stored;
+    }
+
+
+    @Override
+    public Optional<TaskManagement> compareAndSave(TaskManagement task) {
         if (task.getId() == null) {
-            task.setId(idCounter.incrementAndGet());
+            return Optional.empty();
         }
-        taskStore.put(task.getId(), task);
-        return task;
+        boolean[] swapped = new boolean[1];
+        TaskManagement result = taskStore.compute(task.getId(), (id, hot) -> {
+            TaskManagement current = hot != null ? hot : cold(id);
+            if (current == null || current.getVersion() != task.getVersion()) {
+                return hot;
+            }
+            TaskManagement stored = task.withVersion(current.getVersion() + 1);
+            reindex(current, stored);
+            swapped[0] = true;
+            return stored;
+        });
+        if (!swapped[0]) {
+            return Optional.empty();
+        }
+        demoteIfClosed(result);
+        return Optional.of(result);
     }
 
 
 
 
+    // Ids are handed out sequentially, so walking the id range gives a keyset page without copying the store.
     @Override
-    public List<TaskManagement> findAll() {
-        return List.copyOf(taskStore.values());
+    public List<TaskManagement> findAll(Long afterId, int limit) {
+        List<TaskManagement> tasks = new ArrayList<>(Math.min(limit, 1024));
+        long lastId = idCounter.get();
+        for (long id = afterId == null ? 1 : afterId + 1; id <= lastId && tasks.size() < limit; id++) {
+            TaskManagement task = lookup(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
     }
 
 
     @Override
     public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
-        return taskStore.values().stream()
-                .filter(task -> task.getReferenceId().equals(referenceId) && task.getReferenceType().equals(referenceType))
-                .collect(Collectors.toList());
+        Set<Long> ids = referenceIndex.get(new ReferenceKey(referenceId, referenceType));
+        return resolve(ids, Integer.MAX_VALUE, task -> Objects.equals(task.getReferenceId(), referenceId)
+                && task.getReferenceType() == referenceType);
     }
 
 
     @Override
     public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
-        return taskStore.values().stream()
-                .filter(task -> assigneeIds.contains(task.getAssigneeId()))
-                .collect(Collectors.toList());
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+            tasks.addAll(resolve(assigneeIndex.get(assigneeId), Integer.MAX_VALUE,
+                    task -> Objects.equals(task.getAssigneeId(), assigneeId)));
+        }
+        return tasks;
+    }
+
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority, Long afterId, int limit) {
+        NavigableSet<Long> ids = priorityIndex.get(priority);
+        return resolve(afterId == null ? ids : ids.tailSet(afterId, false), limit,
+                task -> task.getPriority() == priority);
+    }
+
+
+    /*
+    * Each assignee's view is already in deadline order and holds the tasks themselves, so one assignee
+    * is a plain slice and several are a k-way merge of their sub-ranges that stops at limit tasks.
+    * */
+    @Override
+    public List<TaskManagement> findOpenByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, long fromInclusive, long toExclusive,
+                                                                         DeadlineCursor after, int limit) {
+        DeadlineCursor from = new DeadlineCursor(fromInclusive, Long.MIN_VALUE);
+        DeadlineCursor to = new DeadlineCursor(toExclusive, Long.MIN_VALUE);
+        boolean resumeAfterCursor = after != null && after.compareTo(from) >= 0;
+        DeadlineCursor lower = resumeAfterCursor ? after : from;
+        if (limit <= 0 || lower.compareTo(to) >= 0) {
+            return new ArrayList<>();
+        }
+        Set<Long> assignees = new LinkedHashSet<>(assigneeIds);
+        if (assignees.size() == 1) {
+            return openTasks.slice(assignees.iterator().next(), lower, !resumeAfterCursor, to, limit);
+        }
+
+        List<TaskManagement> tasks = new ArrayList<>();
+        PriorityQueue<AssigneeCursor> heads = new PriorityQueue<>(Comparator.comparing(AssigneeCursor::head));
+        for (Long assigneeId : assignees) {
+            NavigableMap<DeadlineCursor, TaskManagement> range = openTasks.range(assigneeId, lower, !resumeAfterCursor, to);
+            if (range != null) {
+                Iterator<Map.Entry<DeadlineCursor, TaskManagement>> entries = range.entrySet().iterator();
+                if (entries.hasNext()) {
+                    heads.add(new AssigneeCursor(entries));
+                }
+            }
+        }
+
+        while (!heads.isEmpty() && tasks.size() < limit) {
+            AssigneeCursor cursor = heads.poll();
+            tasks.add(cursor.task());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<TaskManagement> findOpenByAssigneeId(Long assigneeId, DeadlineCursor after, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return after == null
+                ? openTasks.slice(assigneeId, new DeadlineCursor(Long.MIN_VALUE, Long.MIN_VALUE), true,
+                        new DeadlineCursor(Long.MAX_VALUE, Long.MAX_VALUE), limit)
+                : openTasks.slice(assigneeId, after, false, new DeadlineCursor(Long.MAX_VALUE, Long.MAX_VALUE), limit);
+    }
+
+
+
+    @Override
+    public Map<Priority, Map<TaskStatus, Long>> countByPriorityAndStatus(Long assigneeId) {
+        return aggregates.counts(assigneeId);
     }
 
 
 
     @Override
     public void saveTask(ActivityOnTask activityOnTask) {
-        if(!activityOnTaskMap.containsKey(activityOnTask.getTaskId())){
-            activityOnTaskMap.put(activityOnTask.getTaskId(),new ArrayList<>());
-            activityOnTaskMap.get(activityOnTask.getTaskId()).add(activityOnTask.getActivity());
-            return;
+        activityOnTaskMap.computeIfAbsent(activityOnTask.getTaskId(), id -> new AppendOnlyLog<>())
+                .append(sharedName(activityOnTask.getActivity()));
+        activityEntries.increment();
+    }
+
+    @Override
+    public void appendActivities(List<ActivityOnTask> activities) {
+        Long lastTaskId = null;
+        AppendOnlyLog<Activity> log = null;
+        for (ActivityOnTask activityOnTask : activities) {
+            if (log == null || !activityOnTask.getTaskId().equals(lastTaskId)) {
+                lastTaskId = activityOnTask.getTaskId();
+                log = activityOnTaskMap.computeIfAbsent(lastTaskId, id -> new AppendOnlyLog<>());
+            }
+            log.append(sharedName(activityOnTask.getActivity()));
         }
-        activityOnTaskMap.get(activityOnTask.getTaskId()).add(activityOnTask.getActivity());
+        activityEntries.add(activities.size());
+    }
+
+    private Activity sharedName(Activity activity) {
+        String name = userNames.canonical(activity.getName());
+        return name == activity.getName() ? activity : activity.withName(name);
     }
 
     @Override
     public List<Activity> findActivityByTaskId(Long taskId) {
-        if(!activityOnTaskMap.containsKey(taskId))return List.of();
-        return activityOnTaskMap.get(taskId);
+        AppendOnlyLog<Activity> activities = activityOnTaskMap.get(taskId);
+        return activities == null ? List.of() : activities.snapshot();
+    }
+
+    @Override
+    public List<Activity> findActivityByTaskId(Long taskId, int fromPosition, int limit) {
+        AppendOnlyLog<Activity> activities = activityOnTaskMap.get(taskId);
+        return activities == null ? List.of() : activities.slice(fromPosition, limit);
+    }
+
+    @Override
+    public int countActivityByTaskId(Long taskId) {
+        AppendOnlyLog<Activity> activities = activityOnTaskMap.get(taskId);
+        return activities == null ? 0 : activities.size();
     }
 
     @Override
     public void saveCommentByTaskId(CommentOnTask commentOnTask) {
-        if(!commentOnTaskMap.containsKey(commentOnTask.getTaskId())){
-            commentOnTaskMap.put(commentOnTask.getTaskId(),new ArrayList<>());
-            commentOnTaskMap.get(commentOnTask.getTaskId()).add(commentOnTask.getComments());
-            return;
-        }
-        commentOnTaskMap.get(commentOnTask.getTaskId()).add(commentOnTask.getComments());
+        // The comment text is the user's own; only the author name can be shared.
+        commentOnTask.getComments().setName(userNames.canonical(commentOnTask.getComments().getName()));
+        commentOnTaskMap.computeIfAbsent(commentOnTask.getTaskId(), id -> new AppendOnlyLog<>())
+                .append(commentOnTask.getComments());
+        commentEntries.increment();
     }
 
     @Override
     public List<Comment> findCommentsByTaskId(Long taskId) {
-        if(!commentOnTaskMap.containsKey(taskId))return List.of();
-        return commentOnTaskMap.get(taskId);
+        AppendOnlyLog<Comment> comments = commentOnTaskMap.get(taskId);
+        return comments == null ? List.of() : comments.snapshot();
+    }
+
+    @Override
+    public List<Comment> findCommentsByTaskId(Long taskId, int fromPosition, int limit) {
+        AppendOnlyLog<Comment> comments = commentOnTaskMap.get(taskId);
+        return comments == null ? List.of() : comments.slice(fromPosition, limit);
+    }
+
+    @Override
+    public int countCommentsByTaskId(Long taskId) {
+        AppendOnlyLog<Comment> comments = commentOnTaskMap.get(taskId);
+        return comments == null ? 0 : comments.size();
+    }
+
+    // Cold tasks that were reopened are counted in both tiers until the cold copy is superseded.
+    @Override
+    public StoreStats storeStats() {
+        return new StoreStats(taskStore.size(), coldStore == null ? 0 : coldStore.size(),
+                coldStore == null ? 0 : coldStore.garbageBytes(),
+                activityOnTaskMap.size(), activityEntries.sum(), commentOnTaskMap.size(), commentEntries.sum(),
+                assigneeIndex.size(), referenceIndex.size(), openTasks.assignees());
+    }
+
+
+    /*
+    * Recovery: puts a task exactly as it was persisted, version included.
+    * Keeps whichever copy has the higher version, so replaying a record twice or out of order is harmless.
+    * */
+    void restore(TaskManagement task) {
+        TaskManagement stored = taskStore.compute(task.getId(), (id, hot) -> {
+            TaskManagement previous = hot != null ? hot : cold(id);
+            if (previous != null && previous.getVersion() >= task.getVersion()) {
+                return hot;
+            }
+            reindex(previous, task);
+            return task;
+        });
+        if (stored == task) {
+            demoteIfClosed(task);
+        }
+        restoreLastIssuedId(task.getId());
+    }
+
+    void restoreLastIssuedId(long id) {
+        idCounter.accumulateAndGet(id, Math::max);
+    }
+
+    /*
+    * Point-in-time view for a snapshot: task references plus the visible length of every history log.
+    * Only consistent while the caller keeps writers out; the entries themselves can be read afterwards
+    * because logs never change below those lengths.
+    * */
+    StateCut captureState() {
+        Map<Long, Integer> activityCounts = new HashMap<>();
+        activityOnTaskMap.forEach((taskId, activities) -> activityCounts.put(taskId, activities.size()));
+        Map<Long, Integer> commentCounts = new HashMap<>();
+        commentOnTaskMap.forEach((taskId, comments) -> commentCounts.put(taskId, comments.size()));
+        List<TaskManagement> tasks = new ArrayList<>();
+        taskStore.forEach(tasks::add);
+        if (coldStore != null) {
+            coldStore.forEach(task -> {
+                if (taskStore.get(task.getId()) == null) {
+                    tasks.add(task);
+                }
+            });
+        }
+        return new StateCut(idCounter.get(), tasks, activityCounts, commentCounts);
+    }
+
+
+    private TaskManagement lookup(Long id) {
+        TaskManagement task = taskStore.get(id);
+        return task != null ? task : cold(id);
+    }
+
+    private TaskManagement cold(long id) {
+        return coldStore == null ? null : coldStore.get(id);
+    }
+
+    /*
+    * Copies a closed task to the cold tier, then drops the hot copy if it is still that exact version.
+    * The hot map is always consulted first and only loses a task after the cold tier has it,
+    * so readers never miss it. Index entries stay; resolve() reads through lookup().
+    * */
+    private void demoteIfClosed(TaskManagement task) {
+        if (coldStore == null || task.getStatus() == null || !task.getStatus().isClosed()) {
+            return;
+        }
+        coldStore.put(task);
+        taskStore.remove(task.getId(), task.getVersion());
+    }
+
+
+    /*
+    * Moves the task between index buckets when an indexed field changed, and between aggregate cells;
+    * the open-task view takes every version, since it holds the tasks themselves.
+    * Always called from inside taskStore.compute(), which serializes writes to the same task id.
+    * */
+    private void reindex(TaskManagement previous, TaskManagement current) {
+        aggregates.move(previous, current);
+        openTasks.move(previous, current);
+        IndexKeys before = previous == null ? null : IndexKeys.of(previous);
+        IndexKeys after = IndexKeys.of(current);
+        if (after.equals(before)) {
+            return;
+        }
+        if (before != null) {
+            removeFromIndexes(current.getId(), before);
+        }
+        addToIndexes(current.getId(), after);
+    }
+
+    private void addToIndexes(Long id, IndexKeys keys) {
+        if (keys.assigneeId() != null) {
+            addToBucket(assigneeIndex, keys.assigneeId(), id);
+        }
+        if (keys.reference() != null) {
+            addToBucket(referenceIndex, keys.reference(), id);
+        }
+        if (keys.priority() != null) {
+            priorityIndex.get(keys.priority()).add(id);
+        }
+    }
+
+    private void removeFromIndexes(Long id, IndexKeys keys) {
+        if (keys.assigneeId() != null) {
+            removeFromBucket(assigneeIndex, keys.assigneeId(), id);
+        }
+        if (keys.reference() != null) {
+            removeFromBucket(referenceIndex, keys.reference(), id);
+        }
+        if (keys.priority() != null) {
+            priorityIndex.get(keys.priority()).remove(id);
+        }
+    }
+
+    // Buckets are created and dropped inside compute() so an add never lands in a bucket being removed.
+    private static <K> void addToBucket(Map<K, NavigableSet<Long>> index, K key, Long id) {
+        index.compute(key, (k, ids) -> {
+            NavigableSet<Long> bucket = ids == null ? new ConcurrentSkipListSet<>() : ids;
+            bucket.add(id);
+            return bucket;
+        });
+    }
+
+    private static <K> void removeFromBucket(Map<K, NavigableSet<Long>> index, K key, Long id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /*
+    * An id can be seen in a bucket just before the task is re-indexed,
+    * so every hit is checked against the stored task once more.
+    * */
+    private List<TaskManagement> resolve(Collection<Long> ids, int limit, Predicate<TaskManagement> stillMatches) {
+        List<TaskManagement> tasks = new ArrayList<>();
+        if (ids == null) {
+            return tasks;
+        }
+        for (Long id : ids) {
+            if (tasks.size() >= limit) {
+                break;
+            }
+            TaskManagement task = lookup(id);
+            if (task != null && stillMatches.test(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+
+    record StateCut(long lastIssuedId, List<TaskManagement> tasks,
+                    Map<Long, Integer> activityCounts, Map<Long, Integer> commentCounts) {
+    }
+
+
+    private record ReferenceKey(Long referenceId, ReferenceType referenceType) {
+    }
+
+
+    private static final class AssigneeCursor {
+        private final Iterator<Map.Entry<DeadlineCursor, TaskManagement>> range;
+        private Map.Entry<DeadlineCursor, TaskManagement> head;
+
+        AssigneeCursor(Iterator<Map.Entry<DeadlineCursor, TaskManagement>> range) {
+            this.range = range;
+            this.head = range.next();
+        }
+
+        DeadlineCursor head() {
+            return head.getKey();
+        }
+
+        TaskManagement task() {
+            return head.getValue();
+        }
+
+        boolean advance() {
+            if (!range.hasNext()) {
+                return false;
+            }
+            head = range.next();
+            return true;
+        }
+    }
+
+
+    private record IndexKeys(Long assigneeId, ReferenceKey reference, Priority priority) {
+
+        static IndexKeys of(TaskManagement task) {
+            ReferenceKey reference = task.getReferenceId() == null && task.getReferenceType() == null
+                    ? null
+                    : new ReferenceKey(task.getReferenceId(), task.getReferenceType());
+            return new IndexKeys(task.getAssigneeId(), reference, task.getPriority());
+        }
     }
 }
@@ -0,0 +1,81 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+
+/*
+* "My open tasks": per assignee, the open tasks (not COMPLETED/CANCELLED) that have a deadline,
+* sorted by deadline then id, holding the stored snapshot of each task.
+*
+* It is updated with every stored version (creation, reassignment, status, deadline or any other change),
+* so a read is a slice of one sorted map: no store lookups and no status or deadline checks.
+* Like the other indexes it is weakly consistent: a task moved to a later deadline while a page is read
+* can be seen at both positions, and one being moved can briefly be at neither.
+* */
+final class OpenTaskView {
+
+    private final Map<Long, ConcurrentNavigableMap<DeadlineCursor, TaskManagement>> byAssignee = new ConcurrentHashMap<>();
+
+
+    // Called once per stored version, from inside the task's compute(), like the index updates.
+    void move(TaskManagement previous, TaskManagement current) {
+        DeadlineCursor before = previous == null ? null : position(previous);
+        DeadlineCursor after = position(current);
+        if (before != null && !(before.equals(after) && previous.getAssigneeId().equals(current.getAssigneeId()))) {
+            byAssignee.computeIfPresent(previous.getAssigneeId(), (k, tasks) -> {
+                tasks.remove(before);
+                return tasks.isEmpty() ? null : tasks;
+            });
+        }
+        if (after != null) {
+            // Buckets are created and dropped inside compute() so a put never lands in a bucket being removed.
+            byAssignee.compute(current.getAssigneeId(), (k, tasks) -> {
+                ConcurrentNavigableMap<DeadlineCursor, TaskManagement> bucket = tasks == null ? new ConcurrentSkipListMap<>() : tasks;
+                bucket.put(after, current);
+                return bucket;
+            });
+        }
+    }
+
+    // Open tasks of the assignee in (lower, upper) -- lower included when lowerInclusive -- in deadline order
+    NavigableMap<DeadlineCursor, TaskManagement> range(Long assigneeId, DeadlineCursor lower, boolean lowerInclusive,
+                                                       DeadlineCursor upper) {
+        ConcurrentNavigableMap<DeadlineCursor, TaskManagement> tasks = byAssignee.get(assigneeId);
+        return tasks == null ? null : tasks.subMap(lower, lowerInclusive, upper, false);
+    }
+
+    List<TaskManagement> slice(Long assigneeId, DeadlineCursor lower, boolean lowerInclusive, DeadlineCursor upper, int limit) {
+        List<TaskManagement> page = new ArrayList<>(Math.min(limit, 1024));
+        NavigableMap<DeadlineCursor, TaskManagement> range = range(assigneeId, lower, lowerInclusive, upper);
+        if (range == null) {
+            return page;
+        }
+        for (TaskManagement task : range.values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(task);
+        }
+        return page;
+    }
+
+    int assignees() {
+        return byAssignee.size();
+    }
+
+
+    private static DeadlineCursor position(TaskManagement task) {
+        boolean open = task.getStatus() != null && !task.getStatus().isClosed();
+        return open && task.getAssigneeId() != null && task.getTaskDeadlineTime() != null
+                ? new DeadlineCursor(task.getTaskDeadlineTime(), task.getId())
+                : null;
+    }
+}
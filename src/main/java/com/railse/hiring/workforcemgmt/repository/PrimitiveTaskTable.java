@@ -0,0 +1,339 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+
+/*
+* Task table keyed by primitive long ids, with the rows stored as columns: no Long boxes, no per-entry
+* node and no TaskManagement object per stored task.
+*
+* The id space is split over STRIPES open-addressing tables (linear probing). A table keeps one array per
+* column: long[] for the id, version, reference, assignee and deadline, byte[] for the enum ordinals and
+* the null flags of the nullable longs, and String[] for the description. get() builds a TaskManagement
+* snapshot from the row on every call; a stored task costs about 50 bytes of slot plus its description.
+*
+* Each stripe has a StampedLock: lookups read the row under an optimistic stamp and only fall back to the
+* read lock when a write to the same stripe raced with them, writes take the write lock. Removal shifts
+* the following rows back instead of leaving tombstones, so probe chains stay short.
+* */
+final class PrimitiveTaskTable implements TaskTable {
+
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float MAX_LOAD = 0.6f;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // Bits of the nulls column
+    private static final byte NULL_REFERENCE_ID = 1;
+    private static final byte NULL_ASSIGNEE_ID = 1 << 1;
+    private static final byte NULL_DEADLINE = 1 << 2;
+
+    private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+    private static final Task[] TASKS = Task.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+
+    PrimitiveTaskTable() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+
+    @Override
+    public TaskManagement get(long id) {
+        long hash = hash(id);
+        Stripe stripe = stripes[stripeOf(hash)];
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            TaskManagement task = find(stripe.table, id, hash);
+            if (stripe.lock.validate(stamp)) {
+                return task;
+            }
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return find(stripe.table, id, hash);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public TaskManagement compute(long id, Remapper remapper) {
+        checkKey(id);
+        long hash = hash(id);
+        Stripe stripe = stripes[stripeOf(hash)];
+        long stamp = stripe.lock.writeLock();
+        try {
+            Table table = stripe.table;
+            int slot = slotOf(table, id, hash);
+            TaskManagement current = table.keys[slot] == id ? table.read(slot) : null;
+            TaskManagement updated = remapper.apply(id, current);
+            if (updated == null) {
+                if (current != null) {
+                    delete(table, slot);
+                    stripe.size--;
+                }
+                return null;
+            }
+            if (updated == current) {
+                return current;
+            }
+            boolean added = current == null;
+            table.write(slot, id, updated);
+            if (added && ++stripe.size > table.resizeAt) {
+                stripe.table = resize(table);
+            }
+            return updated;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(long id, long expectedVersion) {
+        long hash = hash(id);
+        Stripe stripe = stripes[stripeOf(hash)];
+        long stamp = stripe.lock.writeLock();
+        try {
+            Table table = stripe.table;
+            int slot = slotOf(table, id, hash);
+            if (table.keys[slot] != id || table.versions[slot] != expectedVersion) {
+                return false;
+            }
+            delete(table, slot);
+            stripe.size--;
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<TaskManagement> action) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                Table table = stripe.table;
+                for (int slot = 0; slot < table.keys.length; slot++) {
+                    if (table.keys[slot] != EMPTY) {
+                        action.accept(table.read(slot));
+                    }
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+
+    // Sums the stripes one at a time, without stopping writers on the others.
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+
+    // May run against a table that is being written; the caller validates its stamp before trusting the result.
+    private static TaskManagement find(Table table, long id, long hash) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        for (int slot = (int) hash & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long key = keys[slot];
+            if (key == id) {
+                return table.read(slot);
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // Slot holding the id, or the empty slot where it would go.
+    private static int slotOf(Table table, long id, long hash) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int slot = (int) hash & mask;
+        while (keys[slot] != id && keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion: pull later rows of the probe chain into the gap.
+    private static void delete(Table table, int slot) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = (int) hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table.copyRow(i, table, gap);
+                gap = i;
+            }
+        }
+        table.clear(gap);
+    }
+
+    private static Table resize(Table table) {
+        Table grown = new Table(table.keys.length << 1);
+        for (int i = 0; i < table.keys.length; i++) {
+            long id = table.keys[i];
+            if (id != EMPTY) {
+                table.copyRow(i, grown, slotOf(grown, id, hash(id)));
+            }
+        }
+        return grown;
+    }
+
+    // Murmur3 finalizer: every output bit depends on every id bit. Low bits pick the slot, high bits the stripe.
+    private static long hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int stripeOf(long hash) {
+        return (int) (hash >>> (Long.SIZE - STRIPE_BITS));
+    }
+
+    private static void checkKey(long id) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("Unsupported task id " + id);
+        }
+    }
+
+    // Enum columns hold ordinal + 1, with 0 for null.
+    private static byte code(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E> E decode(E[] values, byte code) {
+        return code == 0 ? null : values[code - 1];
+    }
+
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_CAPACITY);
+        private int size;
+    }
+
+
+    private static final class Table {
+        private final long[] keys;
+        private final long[] versions;
+        private final long[] referenceIds;
+        private final long[] assigneeIds;
+        private final long[] deadlines;
+        private final byte[] nulls;
+        private final byte[] referenceTypes;
+        private final byte[] tasks;
+        private final byte[] statuses;
+        private final byte[] priorities;
+        private final String[] descriptions;
+        private final int resizeAt;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            this.versions = new long[capacity];
+            this.referenceIds = new long[capacity];
+            this.assigneeIds = new long[capacity];
+            this.deadlines = new long[capacity];
+            this.nulls = new byte[capacity];
+            this.referenceTypes = new byte[capacity];
+            this.tasks = new byte[capacity];
+            this.statuses = new byte[capacity];
+            this.priorities = new byte[capacity];
+            this.descriptions = new String[capacity];
+            this.resizeAt = (int) (capacity * MAX_LOAD);
+        }
+
+        TaskManagement read(int slot) {
+            byte absent = nulls[slot];
+            return TaskManagement.builder()
+                    .id(keys[slot])
+                    .referenceId((absent & NULL_REFERENCE_ID) != 0 ? null : referenceIds[slot])
+                    .referenceType(decode(REFERENCE_TYPES, referenceTypes[slot]))
+                    .task(decode(TASKS, tasks[slot]))
+                    .description(descriptions[slot])
+                    .status(decode(STATUSES, statuses[slot]))
+                    .assigneeId((absent & NULL_ASSIGNEE_ID) != 0 ? null : assigneeIds[slot])
+                    .taskDeadlineTime((absent & NULL_DEADLINE) != 0 ? null : deadlines[slot])
+                    .priority(decode(PRIORITIES, priorities[slot]))
+                    .version(versions[slot])
+                    .build();
+        }
+
+        void write(int slot, long id, TaskManagement task) {
+            byte absent = 0;
+            if (task.getReferenceId() == null) {
+                absent |= NULL_REFERENCE_ID;
+            }
+            if (task.getAssigneeId() == null) {
+                absent |= NULL_ASSIGNEE_ID;
+            }
+            if (task.getTaskDeadlineTime() == null) {
+                absent |= NULL_DEADLINE;
+            }
+            versions[slot] = task.getVersion();
+            referenceIds[slot] = task.getReferenceId() == null ? 0 : task.getReferenceId();
+            assigneeIds[slot] = task.getAssigneeId() == null ? 0 : task.getAssigneeId();
+            deadlines[slot] = task.getTaskDeadlineTime() == null ? 0 : task.getTaskDeadlineTime();
+            nulls[slot] = absent;
+            referenceTypes[slot] = code(task.getReferenceType());
+            tasks[slot] = code(task.getTask());
+            statuses[slot] = code(task.getStatus());
+            priorities[slot] = code(task.getPriority());
+            descriptions[slot] = task.getDescription();
+            keys[slot] = id;
+        }
+
+        void copyRow(int from, Table to, int slot) {
+            to.keys[slot] = keys[from];
+            to.versions[slot] = versions[from];
+            to.referenceIds[slot] = referenceIds[from];
+            to.assigneeIds[slot] = assigneeIds[from];
+            to.deadlines[slot] = deadlines[from];
+            to.nulls[slot] = nulls[from];
+            to.referenceTypes[slot] = referenceTypes[from];
+            to.tasks[slot] = tasks[from];
+            to.statuses[slot] = statuses[from];
+            to.priorities[slot] = priorities[from];
+            to.descriptions[slot] = descriptions[from];
+        }
+
+        void clear(int slot) {
+            keys[slot] = EMPTY;
+            descriptions[slot] = null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+/*
+* Sizes of the task store for monitoring. Collected without stopping writers,
+* so the numbers are approximate while the store is busy.
+* */
+public record StoreStats(long hotTasks, long coldTasks, long coldGarbageBytes,
+                         long activityLogs, long activities, long commentLogs, long comments,
+                         long assigneeKeys, long referenceKeys, long openDeadlineKeys) {
+}
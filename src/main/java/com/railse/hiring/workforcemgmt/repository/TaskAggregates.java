@@ -0,0 +1,89 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/*
+* Task counts per priority x status, overall and per assignee, kept current by the repository on every
+* write instead of being counted from the store when asked.
+*
+* Every cell is a LongAdder, so writers hitting the same popular cell (HIGH/ASSIGNED, say) add to
+* striped cells rather than contending on one counter. Reading sums priorities x statuses cells,
+* however many tasks there are. Tasks without a priority or status are not counted.
+* A read racing a write may see the task already gone from its old cell but not yet in the new one.
+* */
+final class TaskAggregates {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final Cells totals = new Cells();
+    private final Map<Long, Cells> byAssignee = new ConcurrentHashMap<>();
+
+
+    // Called once per stored version, from inside the task's compute(), like the index updates.
+    void move(TaskManagement previous, TaskManagement current) {
+        if (previous != null && current != null
+                && previous.getPriority() == current.getPriority()
+                && previous.getStatus() == current.getStatus()
+                && Objects.equals(previous.getAssigneeId(), current.getAssigneeId())) {
+            return;
+        }
+        if (previous != null) {
+            add(previous, -1);
+        }
+        if (current != null) {
+            add(current, 1);
+        }
+    }
+
+    // assigneeId == null for the totals over all tasks
+    Map<Priority, Map<TaskStatus, Long>> counts(Long assigneeId) {
+        Cells cells = assigneeId == null ? totals : byAssignee.get(assigneeId);
+        Map<Priority, Map<TaskStatus, Long>> counts = new EnumMap<>(Priority.class);
+        for (Priority priority : PRIORITIES) {
+            Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : STATUSES) {
+                byStatus.put(status, cells == null ? 0L : cells.get(priority, status).sum());
+            }
+            counts.put(priority, byStatus);
+        }
+        return counts;
+    }
+
+
+    private void add(TaskManagement task, int delta) {
+        if (task.getPriority() == null || task.getStatus() == null) {
+            return;
+        }
+        totals.get(task.getPriority(), task.getStatus()).add(delta);
+        if (task.getAssigneeId() != null) {
+            // Cells are never removed, so an increment cannot land in a discarded one.
+            byAssignee.computeIfAbsent(task.getAssigneeId(), id -> new Cells())
+                    .get(task.getPriority(), task.getStatus()).add(delta);
+        }
+    }
+
+
+    private static final class Cells {
+        private final LongAdder[] cells = new LongAdder[PRIORITIES.length * STATUSES.length];
+
+        Cells() {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+        }
+
+        LongAdder get(Priority priority, TaskStatus status) {
+            return cells[priority.ordinal() * STATUSES.length + status.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+
+/*
+* Binary encoding shared by the write-ahead log and the snapshot files.
+* Nullable values carry a presence byte, enums are stored by name so reordering constants
+* does not corrupt old files, and strings are length-prefixed UTF-8 (no 64 KB writeUTF limit).
+* */
+final class TaskRecordCodec {
+
+    static final byte TASK = 1;
+    // 2 held free-text activities before they became structured events.
+    static final byte ACTIVITY = 4;
+    static final byte COMMENT = 3;
+
+    private TaskRecordCodec() {
+    }
+
+
+    static byte[] taskRecord(TaskManagement task) {
+        return encode(out -> writeTask(out, task));
+    }
+
+    static byte[] activityRecord(Long taskId, Activity activity) {
+        return encode(out -> {
+            out.writeLong(taskId);
+            writeActivity(out, activity);
+        });
+    }
+
+    static byte[] commentRecord(Long taskId, Comment comment) {
+        return encode(out -> {
+            out.writeLong(taskId);
+            writeComment(out, comment);
+        });
+    }
+
+
+    static void writeTask(DataOutput out, TaskManagement task) throws IOException {
+        out.writeLong(task.getId());
+        out.writeLong(task.getVersion());
+        writeNullableLong(out, task.getReferenceId());
+        writeEnum(out, task.getReferenceType());
+        writeEnum(out, task.getTask());
+        writeString(out, task.getDescription());
+        writeEnum(out, task.getStatus());
+        writeNullableLong(out, task.getAssigneeId());
+        writeNullableLong(out, task.getTaskDeadlineTime());
+        writeEnum(out, task.getPriority());
+    }
+
+    static TaskManagement readTask(DataInput in) throws IOException {
+        return TaskManagement.builder()
+                .id(in.readLong())
+                .version(in.readLong())
+                .referenceId(readNullableLong(in))
+                .referenceType(readEnum(in, ReferenceType.class))
+                .task(readEnum(in, Task.class))
+                .description(readString(in))
+                .status(readEnum(in, TaskStatus.class))
+                .assigneeId(readNullableLong(in))
+                .taskDeadlineTime(readNullableLong(in))
+                .priority(readEnum(in, Priority.class))
+                .build();
+    }
+
+    // The user is written by name; the repository it is loaded into shares equal names again.
+    static void writeActivity(DataOutput out, Activity activity) throws IOException {
+        out.writeLong(activity.getEpochMillis());
+        writeString(out, activity.getName());
+        writeEnum(out, activity.getType());
+        out.writeLong(activity.getTaskId());
+        writeString(out, activity.getArgument());
+    }
+
+    static Activity readActivity(DataInput in) throws IOException {
+        long epochMillis = in.readLong();
+        String userName = readString(in);
+        ActivityType type = readEnum(in, ActivityType.class);
+        long taskId = in.readLong();
+        // Arguments come from a handful of values (priority names); share them like the live path does.
+        String argument = readString(in);
+        return Activity.of(epochMillis, userName, type, taskId, argument == null ? null : argument.intern());
+    }
+
+    static void writeComment(DataOutput out, Comment comment) throws IOException {
+        writeTimestamp(out, comment.getLocalDateTime());
+        writeString(out, comment.getName());
+        writeString(out, comment.getComment());
+    }
+
+    static Comment readComment(DataInput in) throws IOException {
+        return new Comment(readTimestamp(in), readString(in), readString(in));
+    }
+
+
+    private static void writeTimestamp(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTimestamp(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    private static void writeNullableLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    private interface Writer {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            // In-memory stream, cannot happen
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
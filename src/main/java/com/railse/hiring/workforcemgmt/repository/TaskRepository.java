@@ -2,21 +2,51 @@ package com.railse.hiring.workforcemgmt.repository;
 
 import com.railse.hiring.workforcemgmt.model.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
 public interface TaskRepository {
     Optional<TaskManagement> findById(Long id);
+    // Tasks found among the ids, keyed by id; unknown ids are left out
+    Map<Long, TaskManagement> findAllById(Collection<Long> ids);
     TaskManagement save(TaskManagement task);
-    List<TaskManagement> findAll();
+    // Batch save; ids for new tasks are reserved in one step. Returns the stored snapshots in input order.
+    List<TaskManagement> saveAll(List<TaskManagement> tasks);
+    // Stores the task only if the stored version still equals task.getVersion().
+    // Returns the stored snapshot with its new version, or empty on a conflict or unknown id.
+    Optional<TaskManagement> compareAndSave(TaskManagement task);
+    // Keyset pages in id order; afterId == null starts from the first task.
+    List<TaskManagement> findAll(Long afterId, int limit);
     List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, com.railse.hiring.workforcemgmt.model.enums.ReferenceType referenceType);
     List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds);
+    List<TaskManagement> findByPriority(Priority priority, Long afterId, int limit);
+    // Open tasks of the assignees whose deadline (epoch millis) is in [fromInclusive, toExclusive),
+    // in deadline order, starting after the cursor when one is given
+    List<TaskManagement> findOpenByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, long fromInclusive, long toExclusive,
+                                                                  DeadlineCursor after, int limit);
+    // One assignee's open tasks in deadline order, read from a view kept up to date on every write
+    List<TaskManagement> findOpenByAssigneeId(Long assigneeId, DeadlineCursor after, int limit);
+    // Task counts per priority and status, for one assignee or for all tasks when assigneeId is null.
+    // Kept up to date on every write, so this does not scan the store.
+    Map<Priority, Map<TaskStatus, Long>> countByPriorityAndStatus(Long assigneeId);
+    // Activities and comments are read back in append order, oldest first; callers never need to sort.
     void saveTask(ActivityOnTask activityOnTask);
+    void appendActivities(List<ActivityOnTask> activities);
     List<Activity> findActivityByTaskId(Long taskId);
+    // Up to limit entries starting at the given position of the history
+    List<Activity> findActivityByTaskId(Long taskId, int fromPosition, int limit);
+    int countActivityByTaskId(Long taskId);
     void saveCommentByTaskId(CommentOnTask commentOnTask);
     List<Comment> findCommentsByTaskId(Long taskId);
+    List<Comment> findCommentsByTaskId(Long taskId, int fromPosition, int limit);
+    int countCommentsByTaskId(Long taskId);
+    // Store, history and index sizes for gauges; cheap enough to call on every scrape
+    StoreStats storeStats();
 }
@@ -0,0 +1,39 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.util.function.Consumer;
+
+
+/*
+* Id -> current task snapshot, the primary table behind InMemoryTaskRepository.
+* compute() runs the remapping function atomically per id; the function must not touch the table itself.
+* */
+interface TaskTable {
+
+    TaskManagement get(long id);
+
+    // Returns the new value; a null result removes the entry (or leaves it absent).
+    TaskManagement compute(long id, Remapper remapper);
+
+    // Removes the entry only while it still has this version.
+    boolean remove(long id, long expectedVersion);
+
+    void forEach(Consumer<TaskManagement> action);
+
+    // Entry count; approximate while writers run.
+    int size();
+
+
+    interface Remapper {
+        TaskManagement apply(long id, TaskManagement current);
+    }
+
+    static TaskTable create(String kind) {
+        return switch (kind) {
+            case "primitive" -> new PrimitiveTaskTable();
+            case "concurrent-hash-map" -> new ConcurrentMapTaskTable();
+            default -> throw new IllegalArgumentException("Unknown task table " + kind);
+        };
+    }
+}
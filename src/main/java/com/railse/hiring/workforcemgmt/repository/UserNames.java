@@ -0,0 +1,41 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/*
+* Shared user-name strings for one repository's history: each distinct name is kept once and every
+* activity or comment by that user points at the same String. Names come straight from request bodies,
+* so the table stops growing at about capacity; names first seen after that are kept as given, unshared.
+* */
+final class UserNames {
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final int capacity;
+
+
+    UserNames(int capacity) {
+        this.capacity = capacity;
+    }
+
+
+    String canonical(String name) {
+        if (name == null) {
+            return null;
+        }
+        String shared = names.get(name);
+        if (shared != null) {
+            return shared;
+        }
+        if (names.size() >= capacity) {
+            return name;
+        }
+        shared = names.putIfAbsent(name, name);
+        return shared != null ? shared : name;
+    }
+
+    int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,352 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+
+/*
+* Segmented write-ahead log with group commit.
+*
+* Writers encode their record into a shared buffer and get back a log sequence number.
+* A single flusher thread swaps that buffer out, writes it to the current segment with one
+* FileChannel write (and one force when fsync is on) and then releases every writer whose
+* record was in the batch, so many concurrent writes share one disk round trip.
+*
+* Record layout: int payloadLength, int crc32(type + payload), byte type, payload.
+* Replay stops at the first record that is short or fails its checksum (a torn tail) and cuts the log
+* there, so nothing written after a gap is ever applied, on this start or a later one.
+* */
+@Slf4j
+final class WriteAheadLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int INITIAL_BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsPending = lock.newCondition();
+    private final Condition batchFlushed = lock.newCondition();
+    private final Thread flusher;
+
+    // Guarded by lock
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long lastLsn;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+    private FileChannel channel;
+    private long segmentIndex;
+    private long segmentBytes;
+
+    private volatile long durableLsn;
+
+
+    WriteAheadLog(Path directory, long firstSegmentIndex, boolean fsync, ThreadFactory threads) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segmentIndex = firstSegmentIndex;
+        this.channel = openSegment(firstSegmentIndex);
+        this.flusher = threads.newThread(this::flushLoop);
+        this.flusher.start();
+    }
+
+
+    // Buffers the record for the next group commit and returns its log sequence number.
+    long append(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        int checksum = (int) crc.getValue();
+        lock.lock();
+        try {
+            ensureWritable();
+            pending = ensureCapacity(pending, HEADER_BYTES + 1 + payload.length);
+            pending.putInt(1 + payload.length).putInt(checksum).put(type).put(payload);
+            recordsPending.signal();
+            return ++lastLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Blocks until the record with this sequence number has been written (and forced when fsync is on).
+    void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed", failure);
+                }
+                batchFlushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+    * Closes the current segment once everything appended so far is on disk and starts a new one.
+    * The caller must keep writers out while rotating; returns the index of the new segment.
+    * */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            while (flushing || pending.position() > 0) {
+                ensureWritable();
+                recordsPending.signal();
+                batchFlushed.awaitUninterruptibly();
+            }
+            channel.force(true);
+            channel.close();
+            segmentIndex++;
+            segmentBytes = 0;
+            channel = openSegment(segmentIndex);
+            return segmentIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long segmentBytes() {
+        lock.lock();
+        try {
+            return segmentBytes + pending.position();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void deleteSegmentsBefore(long index) throws IOException {
+        for (Path segment : segments(directory)) {
+            if (segmentIndex(segment) < index) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            recordsPending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            channel.force(true);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchLsn;
+            FileChannel target;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    recordsPending.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                spare = null;
+                batchLsn = lastLsn;
+                target = channel;
+                flushing = true;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            int batchBytes = batch.position();
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    target.write(batch);
+                }
+                if (fsync) {
+                    target.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+                log.error("Write-ahead log flush failed", e);
+            }
+
+            lock.lock();
+            try {
+                batch.clear();
+                spare = batch;
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    segmentBytes += batchBytes;
+                    durableLsn = batchLsn;
+                }
+                batchFlushed.signalAll();
+                if (error != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void ensureWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+
+    private FileChannel openSegment(long index) throws IOException {
+        return FileChannel.open(segmentPath(directory, index),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int extra) {
+        if (buffer.remaining() >= extra) {
+            return buffer;
+        }
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < extra) {
+            capacity *= 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+
+    interface RecordHandler {
+        void accept(byte type, ByteBuffer payload) throws IOException;
+    }
+
+    /*
+    * Replays the records of the segments with index >= fromSegment, oldest first, up to the first bad one.
+    * The log is cut at that record: its segment is truncated there and later segments are deleted, so the
+    * segments a restarted writer appends after are never read past a gap.
+    * */
+    static void replay(Path directory, long fromSegment, RecordHandler handler) throws IOException {
+        CRC32 crc = new CRC32();
+        List<Path> segments = segments(directory);
+        for (int s = 0; s < segments.size(); s++) {
+            Path segment = segments.get(s);
+            if (segmentIndex(segment) < fromSegment) {
+                continue;
+            }
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+            while (data.hasRemaining()) {
+                int recordStart = data.position();
+                String problem = null;
+                int length = 0;
+                if (data.remaining() < HEADER_BYTES) {
+                    problem = "torn";
+                } else {
+                    length = data.getInt();
+                    int checksum = data.getInt();
+                    if (length < 1 || length > data.remaining()) {
+                        problem = "torn";
+                    } else {
+                        crc.reset();
+                        crc.update(data.slice().limit(length));
+                        if ((int) crc.getValue() != checksum) {
+                            problem = "corrupt";
+                        }
+                    }
+                }
+                if (problem != null) {
+                    cut(segment, recordStart, segments.subList(s + 1, segments.size()), problem);
+                    return;
+                }
+                ByteBuffer record = data.slice().limit(length);
+                byte type = record.get();
+                handler.accept(type, record.slice());
+                data.position(data.position() + length);
+            }
+        }
+    }
+
+    private static void cut(Path segment, long offset, List<Path> later, String problem) throws IOException {
+        log.warn("Stopping replay at a {} record at offset {} of {}; dropping it and {} later segment(s)",
+                problem, offset, segment.getFileName(), later.size());
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            channel.force(true);
+        }
+        for (Path path : later) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    static long lastSegmentIndex(Path directory) throws IOException {
+        List<Path> segments = segments(directory);
+        return segments.isEmpty() ? -1 : segmentIndex(segments.get(segments.size() - 1));
+    }
+
+    // Segment files in index order
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(WriteAheadLog::isSegment).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)));
+        return segments;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+}
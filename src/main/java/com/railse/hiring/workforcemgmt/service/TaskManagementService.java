@@ -1,22 +1,36 @@
 package com.railse.hiring.workforcemgmt.service;
 
 import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
 import com.railse.hiring.workforcemgmt.model.CommentOnTask;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 
 
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface TaskManagementService {
     List<TaskManagementDto> createTasks(TaskCreateRequest request);
     List<TaskManagementDto> updateTasks(UpdateTaskRequest request);
     String assignByReference(AssignByReferenceRequest request);
-    List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request);
+    PageDto<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request);
+    // "My open tasks": the assignee's open tasks in deadline order, whatever the deadline
+    PageDto<TaskManagementDto> fetchOpenTasks(Long assigneeId, String cursor, Integer limit);
     TaskManagementDto findTaskById(Long id);
+    // Task counts per priority and status, for one assignee or all of them; served from counters, not a scan
+    TaskCountsDto countTasks(Long assigneeId);
+    // Hits and misses of the findTaskById detail cache
+    CacheStatsDto detailCacheStats();
     //Feature 2
     List<TaskManagementDto> updateTaskPriority(RequestTaskPriorityUpdate request);
-    List<TaskManagementDto> fetchTasksByPriority(Priority priority);
+    PageDto<TaskManagementDto> fetchTasksByPriority(Priority priority, String cursor, Integer limit);
+    // Streaming variants: every matching task, mapped one at a time and handed to the sink in page order
+    void streamTasksByPriority(Priority priority, Consumer<TaskManagementDto> sink);
+    void streamTasksByDate(TaskFetchByDateRequest request, Consumer<TaskManagementDto> sink);
     void commentOnTask(CommentOnTask commentOnTask);
+    PageDto<Activity> fetchActivities(Long taskId, String cursor, Integer limit);
+    PageDto<Comment> fetchComments(Long taskId, String cursor, Integer limit);
 }
 
@@ -0,0 +1,227 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.config.BackgroundThreads;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/*
+* Takes activity writes off the request thread.
+*
+* Request threads put activities on a bounded ring buffer (ArrayBlockingQueue) and return.
+* One writer thread drains it in batches of up to batchSize into the repository, so a burst
+* of updates costs one appendActivities per batch. Entries of one task keep their order
+* (single FIFO writer), except under CALLER_RUNS overflow, which writes directly.
+*
+* A full buffer is handled per task-mgmt.audit.overflow:
+*   BLOCK        wait for space (no loss; the caller feels the writer's pace),
+*   DROP         discard and count (never waits; history can have gaps),
+*   CALLER_RUNS  write synchronously on the request thread.
+* On shutdown the writer drains what is queued (drain-on-shutdown) for up to shutdown-timeout-ms;
+* without draining it still gets that long to finish the batch in hand. Whatever is left after that is
+* taken off the queue and reported. A record() racing with close() re-checks after queueing and writes
+* back anything neither the writer nor close() took, so no entry is stranded in the queue.
+* */
+@Slf4j
+@Component
+public class AuditLog implements AutoCloseable {
+
+    public enum Overflow { BLOCK, DROP, CALLER_RUNS }
+
+    private final TaskRepository taskRepository;
+    private final BlockingQueue<ActivityOnTask> queue;
+    private final int batchSize;
+    private final Overflow overflow;
+    private final boolean drainOnShutdown;
+    private final long shutdownTimeoutMillis;
+    private final Thread writer;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Object progress = new Object();
+    private volatile boolean running = true;
+
+
+    public AuditLog(TaskRepository taskRepository,
+                    @Value("${task-mgmt.audit.async:true}") boolean async,
+                    @Value("${task-mgmt.audit.queue-capacity:65536}") int queueCapacity,
+                    @Value("${task-mgmt.audit.batch-size:512}") int batchSize,
+                    @Value("${task-mgmt.audit.overflow:BLOCK}") Overflow overflow,
+                    @Value("${task-mgmt.audit.drain-on-shutdown:true}") boolean drainOnShutdown,
+                    @Value("${task-mgmt.audit.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis,
+                    @Value(BackgroundThreads.VIRTUAL_ENABLED) boolean virtualThreads) {
+        this.taskRepository = taskRepository;
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.drainOnShutdown = drainOnShutdown;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        if (async) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.writer = BackgroundThreads.start("audit-writer", virtualThreads, this::drainLoop);
+        } else {
+            this.queue = null;
+            this.writer = null;
+        }
+    }
+
+    // Writes straight through on the caller's thread.
+    public static AuditLog synchronous(TaskRepository taskRepository) {
+        return new AuditLog(taskRepository, false, 0, 0, Overflow.CALLER_RUNS, false, 0, false);
+    }
+
+
+    public void record(List<ActivityOnTask> activities) {
+        if (queue == null || !running) {
+            taskRepository.appendActivities(activities);
+            return;
+        }
+        List<ActivityOnTask> direct = null;
+        for (ActivityOnTask activity : activities) {
+            if (!enqueue(activity)) {
+                direct = add(direct, activity);
+            }
+        }
+        if (!running) {
+            // close() may have stopped the writer and emptied the queue before these went in: take back what is still there
+            for (ActivityOnTask activity : activities) {
+                if (queue.remove(activity)) {
+                    direct = add(direct, activity);
+                }
+            }
+        }
+        if (direct != null) {
+            try {
+                taskRepository.appendActivities(direct);
+            } finally {
+                // Only now are they written, so flush() waits for the caller too
+                markProcessed(direct.size());
+            }
+        }
+    }
+
+    // Waits until everything recorded so far has reached the repository (or been given up on).
+    public void flush() throws InterruptedException {
+        long target = enqueued.get();
+        synchronized (progress) {
+            while (processed.get() < target && writer != null && writer.isAlive()) {
+                progress.wait(100);
+            }
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public int pending() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        // join(0) would wait without bound, e.g. behind a write-ahead log that no longer completes
+        writer.join(Math.max(shutdownTimeoutMillis, 1));
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        // Not drained (drain-on-shutdown off, or out of time): dropped, and said so
+        List<ActivityOnTask> lost = new ArrayList<>();
+        queue.drainTo(lost);
+        if (!lost.isEmpty()) {
+            markProcessed(lost.size());
+            log.warn("Audit writer stopped with {} activities not recorded", lost.size());
+        }
+    }
+
+
+    /*
+    * False when the activity must be written by the caller (CALLER_RUNS, or interrupted while blocking);
+    * the caller marks it processed once written.
+    * */
+    private boolean enqueue(ActivityOnTask activity) {
+        enqueued.incrementAndGet();
+        if (queue.offer(activity)) {
+            return true;
+        }
+        switch (overflow) {
+            case BLOCK -> {
+                try {
+                    queue.put(activity);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case DROP -> {
+                dropped.increment();
+                markProcessed(1);
+                return true;
+            }
+            case CALLER_RUNS -> {
+            }
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<ActivityOnTask> batch = new ArrayList<>(batchSize);
+        while (running || (drainOnShutdown && !queue.isEmpty())) {
+            try {
+                ActivityOnTask first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ActivityOnTask> batch) {
+        try {
+            taskRepository.appendActivities(batch);
+            if (log.isDebugEnabled()) {
+                for (ActivityOnTask activity : batch) {
+                    log.debug(activity.getActivity().getActivity());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record {} activities", batch.size(), e);
+        } finally {
+            markProcessed(batch.size());
+        }
+    }
+
+    private static List<ActivityOnTask> add(List<ActivityOnTask> list, ActivityOnTask activity) {
+        List<ActivityOnTask> target = list == null ? new ArrayList<>() : list;
+        target.add(activity);
+        return target;
+    }
+
+    private void markProcessed(int count) {
+        processed.addAndGet(count);
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+}
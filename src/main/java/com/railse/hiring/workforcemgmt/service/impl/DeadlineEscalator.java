@@ -0,0 +1,222 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.config.BackgroundThreads;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/*
+* Escalates open tasks whose deadline has passed: the priority goes up one level (LOW -> MEDIUM -> HIGH)
+* and a DEADLINE_ESCALATED activity is recorded. A task is escalated once per deadline; moving the
+* deadline or reopening the task arms it again.
+*
+* Deadlines wait in a DeadlineWheel, filled from the store once at start-up and then kept current from
+* the change feed: a created task, a changed deadline or a reopened task adds an entry. Nothing is removed
+* when a task changes; a due entry is checked against the stored task and dropped if the task is closed
+* or its deadline is no longer the entry's. A task can have several entries for one deadline, so the
+* escalator remembers which deadline it last escalated per open task; the DEADLINE_ESCALATED activity is
+* written through the audit log and may not be in the history yet on the next check. After a restart the
+* newest history entries tell whether the current deadline was already escalated.
+* */
+@Slf4j
+@Component
+public class DeadlineEscalator implements AutoCloseable {
+
+    static final String USER = "deadline-escalator";
+    private static final int STARTUP_PAGE_SIZE = 1024;
+    private static final int MAX_ATTEMPTS = 5;
+    // Newest history entries searched for an earlier escalation of the same deadline
+    private static final int HISTORY_CHECKED = 20;
+
+    private final TaskRepository taskRepository;
+    private final AuditLog auditLog;
+    private final TaskChangeFeed changeFeed;
+    private final DeadlineWheel wheel;
+    // Open task id -> the deadline it was escalated for in this process
+    private final Map<Long, Long> escalatedDeadlines = new ConcurrentHashMap<>();
+    private final long tickMillis;
+    private final LongAdder escalated = new LongAdder();
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+
+    @Autowired
+    public DeadlineEscalator(TaskRepository taskRepository, AuditLog auditLog, TaskChangeFeed changeFeed,
+                             @Value("${task-mgmt.escalation.enabled:true}") boolean enabled,
+                             @Value("${task-mgmt.escalation.tick-ms:1000}") long tickMillis,
+                             @Value(BackgroundThreads.VIRTUAL_ENABLED) boolean virtualThreads) {
+        this(taskRepository, auditLog, changeFeed, enabled, tickMillis, System.currentTimeMillis(), enabled, virtualThreads);
+    }
+
+    private DeadlineEscalator(TaskRepository taskRepository, AuditLog auditLog, TaskChangeFeed changeFeed,
+                              boolean enabled, long tickMillis, long nowMillis, boolean startTicker, boolean virtualThreads) {
+        this.taskRepository = taskRepository;
+        this.auditLog = auditLog;
+        this.changeFeed = changeFeed;
+        this.tickMillis = tickMillis;
+        this.wheel = new DeadlineWheel(tickMillis, nowMillis);
+        if (enabled) {
+            // Loaded first, so the store and the feed don't both add an entry for each task changed meanwhile
+            schedulePending();
+            changeFeed.addListener(this::onChange);
+        }
+        this.ticker = startTicker ? BackgroundThreads.start("deadline-escalator", virtualThreads, this::tickLoop) : null;
+    }
+
+    // Without the ticker thread: time moves only through escalateDue().
+    static DeadlineEscalator manual(TaskRepository taskRepository, AuditLog auditLog, TaskChangeFeed changeFeed,
+                                    long tickMillis, long nowMillis) {
+        return new DeadlineEscalator(taskRepository, auditLog, changeFeed, true, tickMillis, nowMillis, false, false);
+    }
+
+
+    // Escalates every task whose deadline passed by nowMillis; returns how many were escalated.
+    int escalateDue(long nowMillis) {
+        DeadlineWheel.Bucket due = wheel.advance(nowMillis);
+        int count = 0;
+        for (int i = 0; i < due.size(); i++) {
+            if (escalate(due.taskId(i), due.deadline(i), nowMillis)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long pendingDeadlines() {
+        return wheel.size();
+    }
+
+    public long escalatedCount() {
+        return escalated.sum();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker.join(tickMillis);
+        }
+    }
+
+
+    private void onChange(TaskChangeFeed.Change change) {
+        TaskManagement task = change.task();
+        if (change.kind() == TaskChangeFeed.Kind.COMMENTED) {
+            return;
+        }
+        if (!isOpen(task) || task.getTaskDeadlineTime() == null) {
+            escalatedDeadlines.remove(task.getId());
+            return;
+        }
+        TaskManagement previous = change.previous();
+        if (previous != null && isOpen(previous) && task.getTaskDeadlineTime().equals(previous.getTaskDeadlineTime())) {
+            return;
+        }
+        escalatedDeadlines.remove(task.getId());
+        wheel.add(task.getId(), task.getTaskDeadlineTime());
+    }
+
+    // One pass over the store at start-up; from then on the change feed keeps the wheel current.
+    private void schedulePending() {
+        Long afterId = null;
+        List<TaskManagement> page;
+        do {
+            page = taskRepository.findAll(afterId, STARTUP_PAGE_SIZE);
+            for (TaskManagement task : page) {
+                if (isOpen(task) && task.getTaskDeadlineTime() != null) {
+                    wheel.add(task.getId(), task.getTaskDeadlineTime());
+                }
+            }
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (page.size() == STARTUP_PAGE_SIZE);
+        log.info("Deadline escalation tracking {} open task(s)", wheel.size());
+    }
+
+    private void tickLoop() {
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+                int count = escalateDue(System.currentTimeMillis());
+                if (count > 0) {
+                    log.info("Escalated {} overdue task(s)", count);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Deadline escalation failed", e);
+            }
+        }
+    }
+
+    private boolean escalate(long taskId, long deadline, long nowMillis) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            TaskManagement task = taskRepository.findById(taskId).orElse(null);
+            if (task == null || !isOpen(task) || task.getTaskDeadlineTime() == null) {
+                escalatedDeadlines.remove(taskId);
+                return false;
+            }
+            if (task.getTaskDeadlineTime() != deadline || Long.valueOf(deadline).equals(escalatedDeadlines.get(taskId))
+                    || alreadyEscalated(task)) {
+                return false;
+            }
+            if (deadline > nowMillis) {
+                // Only deadlines beyond the wheel's span come due early
+                wheel.add(taskId, deadline);
+                return false;
+            }
+            Priority raised = raise(task.getPriority());
+            if (raised != task.getPriority()) {
+                Optional<TaskManagement> saved = taskRepository.compareAndSave(task.withPriority(raised));
+                if (saved.isEmpty()) {
+                    continue;
+                }
+                changeFeed.publish(TaskChangeFeed.Kind.UPDATED, saved.get(), task);
+            }
+            auditLog.record(List.of(new ActivityOnTask(taskId,
+                    Activity.of(nowMillis, USER, ActivityType.DEADLINE_ESCALATED, taskId, String.valueOf(raised)))));
+            escalatedDeadlines.put(taskId, deadline);
+            escalated.increment();
+            log.debug("Escalated task_id {} to {}", taskId, raised);
+            return true;
+        }
+        log.warn("Gave up escalating task_id {} after {} concurrent updates", taskId, MAX_ATTEMPTS);
+        return false;
+    }
+
+    private boolean alreadyEscalated(TaskManagement task) {
+        int count = taskRepository.countActivityByTaskId(task.getId());
+        for (Activity activity : taskRepository.findActivityByTaskId(task.getId(),
+                Math.max(count - HISTORY_CHECKED, 0), HISTORY_CHECKED)) {
+            if (activity.getType() == ActivityType.DEADLINE_ESCALATED && activity.getEpochMillis() >= task.getTaskDeadlineTime()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Priority raise(Priority priority) {
+        if (priority == null || priority == Priority.LOW) {
+            return Priority.MEDIUM;
+        }
+        return Priority.HIGH;
+    }
+
+    private static boolean isOpen(TaskManagement task) {
+        return task.getStatus() != null && !task.getStatus().isClosed();
+    }
+}
@@ -0,0 +1,184 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/*
+* Hierarchical timing wheel of (taskId, deadline) entries.
+*
+* LEVELS wheels of SLOTS buckets each; a bucket of level L spans SLOTS^L ticks. An entry goes into the
+* lowest level whose span reaches its deadline, so adding is O(1). As time passes, the level-0 bucket
+* of each tick is due, and a higher-level bucket is redistributed to the levels below once time reaches
+* it, which touches every entry at most LEVELS times over its life. Nothing is ever scanned in full.
+*
+* Entries are never removed: a task whose deadline moved or that was closed keeps its old entry until it
+* comes due, and the caller checks the entry against the task then. Deadlines beyond the top level's span
+* (136 years at one-second ticks) come due early for the same check.
+* Buckets are primitive arrays, 16 bytes per entry, so millions of pending deadlines stay cheap.
+*
+* add() may be called from any thread and takes no lock: it pushes onto a concurrent inbox, and only
+* advance(), called by one thread at a time (the escalator's ticker), drains the inbox into the wheels.
+* The inbox holds an object per entry, but only until the next tick.
+* */
+final class DeadlineWheel {
+
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Queue<Entry> inbox = new ConcurrentLinkedQueue<>();
+    // Inbox entries included
+    private final LongAdder size = new LongAdder();
+
+    // Only touched by advance()
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+    // Entries at or before the current tick, handed out by the next advance()
+    private Bucket due = new Bucket();
+    private long currentTick;
+    // Entries in the wheels and in due
+    private long placed;
+
+
+    DeadlineWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+
+    void add(long taskId, long deadlineMillis) {
+        inbox.add(new Entry(taskId, deadlineMillis));
+        size.increment();
+    }
+
+    // Moves the wheel up to nowMillis and returns every entry due by then, including those added meanwhile.
+    Bucket advance(long nowMillis) {
+        for (Entry entry = inbox.poll(); entry != null; entry = inbox.poll()) {
+            // Rounded up, so an entry never comes due before its deadline
+            place(entry.taskId(), entry.deadlineMillis(), -Math.floorDiv(-entry.deadlineMillis(), tickMillis));
+            placed++;
+        }
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            if (placed == due.size()) {
+                // Nothing left in the wheels: skip the empty stretch
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            due.addAll(wheels[0][(int) (currentTick & MASK)]);
+        }
+        Bucket result = due;
+        due = new Bucket();
+        placed -= result.size();
+        size.add(-result.size());
+        return result;
+    }
+
+    long size() {
+        return size.sum();
+    }
+
+
+    // Starting a new span at level L (the tick's low L*BITS bits are zero) brings that bucket's entries down.
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < LEVELS && (currentTick & ((1L << ((top + 1) * BITS)) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            Bucket bucket = wheels[level][(int) ((currentTick >>> (level * BITS)) & MASK)];
+            Bucket entries = bucket.copy();
+            bucket.clear();
+            for (int i = 0; i < entries.size(); i++) {
+                long deadline = entries.deadline(i);
+                place(entries.taskId(i), deadline, -Math.floorDiv(-deadline, tickMillis));
+            }
+        }
+    }
+
+    private void place(long taskId, long deadlineMillis, long tick) {
+        long delta = tick - currentTick;
+        if (delta <= 0) {
+            due.add(taskId, deadlineMillis);
+            return;
+        }
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= 1L << ((level + 1) * BITS)) {
+            level++;
+        }
+        long slotTick = level + 1 == LEVELS && delta >= 1L << (LEVELS * BITS)
+                ? currentTick + (1L << (LEVELS * BITS)) - 1
+                : tick;
+        wheels[level][(int) ((slotTick >>> (level * BITS)) & MASK)].add(taskId, deadlineMillis);
+    }
+
+
+    private record Entry(long taskId, long deadlineMillis) {
+    }
+
+
+    // Growable list of (taskId, deadline) pairs
+    static final class Bucket {
+        private static final long[] EMPTY = {};
+
+        private long[] entries = EMPTY;
+        private int size;
+
+        void add(long taskId, long deadlineMillis) {
+            if (2 * size == entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(8, entries.length * 2));
+            }
+            entries[2 * size] = taskId;
+            entries[2 * size + 1] = deadlineMillis;
+            size++;
+        }
+
+        // Moves the other bucket's entries here, taking its array when this one is empty
+        void addAll(Bucket other) {
+            if (size == 0) {
+                entries = other.entries;
+                size = other.size;
+            } else {
+                for (int i = 0; i < other.size; i++) {
+                    add(other.taskId(i), other.deadline(i));
+                }
+            }
+            other.clear();
+        }
+
+        int size() {
+            return size;
+        }
+
+        long taskId(int index) {
+            return entries[2 * index];
+        }
+
+        long deadline(int index) {
+            return entries[2 * index + 1];
+        }
+
+        private Bucket copy() {
+            Bucket copy = new Bucket();
+            copy.entries = entries;
+            copy.size = size;
+            return copy;
+        }
+
+        private void clear() {
+            entries = EMPTY;
+            size = 0;
+        }
+    }
+}
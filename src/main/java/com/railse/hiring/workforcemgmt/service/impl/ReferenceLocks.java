@@ -0,0 +1,43 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+* Striped locks keyed by (referenceId, ReferenceType).
+* Work on the same reference runs one at a time; different references only
+* contend when they hash to the same stripe, so there is no global lock.
+* */
+final class ReferenceLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    ReferenceLocks(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(minimumStripes - 1, 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    <T> T withLock(Long referenceId, ReferenceType referenceType, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(referenceId, referenceType);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(Long referenceId, ReferenceType referenceType) {
+        int hash = Objects.hash(referenceId, referenceType);
+        hash ^= (hash >>> 16);
+        return stripes[hash & mask];
+    }
+}
@@ -0,0 +1,334 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.config.BackgroundThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+/*
+* Task changes as they are written, for clients that would otherwise poll.
+*
+* Every change claims the next offset from an atomic sequence and is stored into a ring holding the last
+* replayCapacity changes; no lock is taken and nothing is copied per subscriber. Each subscriber pulls
+* from the ring with its own cursor and applies its own filter, so a subscriber that resumes from an offset
+* simply starts its cursor there, as long as the ring still has it. Writers never wait for subscribers:
+* one that falls more than subscriberBuffer offsets behind marks itself overflowed and has to resume from
+* its last offset. Subscribers waiting for the next change are parked and unparked by the writer.
+*
+* In-process listeners are not called by the writer either: changes are queued for a listener thread,
+* so a slow listener delays only the listeners, and they see changes shortly after they are written.
+*
+* Offsets are ordered as changes are published, which is after the repository write, so two writes to
+* the same task racing each other can be published out of version order; the task's version tells.
+* Offsets start again from 1 when the process restarts.
+* */
+@Slf4j
+@Component
+public class TaskChangeFeed implements AutoCloseable {
+
+    public enum Kind { CREATED, UPDATED, COMMENTED }
+
+
+    // previous is the task before an update, so a task leaving a filter (reassigned away, say) is still seen.
+    public record Change(long offset, long timestamp, Kind kind, TaskManagement task, TaskManagement previous,
+                         Comment comment) {
+    }
+
+
+    // Null fields match anything; a change matches when the task before or after it does.
+    public record Filter(Long assigneeId, Priority priority, Long referenceId, ReferenceType referenceType) {
+
+        boolean matches(Change change) {
+            return matches(change.task()) || (change.previous() != null && matches(change.previous()));
+        }
+
+        private boolean matches(TaskManagement task) {
+            return (assigneeId == null || assigneeId.equals(task.getAssigneeId()))
+                    && (priority == null || priority == task.getPriority())
+                    && (referenceId == null || referenceId.equals(task.getReferenceId()))
+                    && (referenceType == null || referenceType == task.getReferenceType());
+        }
+    }
+
+
+    private final AtomicReferenceArray<Change> ring;
+    private final int mask;
+    // Offsets a subscriber may fall behind before it overflows; never more than the ring holds
+    private final int maxLag;
+    // Last offset claimed; its change may still be on its way into the ring
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscriber threads parked in next()
+    private final Set<Thread> waiting = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Change>> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Change> listenerQueue = new ConcurrentLinkedQueue<>();
+    private final Thread listenerThread;
+    private final LongAdder overflows = new LongAdder();
+    private volatile boolean listenerParked;
+    private volatile boolean running = true;
+
+
+    public TaskChangeFeed(@Value("${task-mgmt.change-feed.replay-capacity:16384}") int replayCapacity,
+                          @Value("${task-mgmt.change-feed.subscriber-buffer:1024}") int subscriberBuffer,
+                          @Value(BackgroundThreads.VIRTUAL_ENABLED) boolean virtualThreads) {
+        this(replayCapacity, subscriberBuffer, true, virtualThreads);
+    }
+
+    private TaskChangeFeed(int replayCapacity, int subscriberBuffer, boolean listenerThread, boolean virtualThreads) {
+        int capacity = Integer.highestOneBit(Math.max(replayCapacity, 1) * 2 - 1);
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxLag = Math.min(Math.max(subscriberBuffer, 1), capacity);
+        this.listenerThread = listenerThread
+                ? BackgroundThreads.start("change-listeners", virtualThreads, this::listenerLoop)
+                : null;
+    }
+
+    // Calls listeners on the publishing thread, before publish returns.
+    public static TaskChangeFeed synchronous(int replayCapacity, int subscriberBuffer) {
+        return new TaskChangeFeed(replayCapacity, subscriberBuffer, false, false);
+    }
+
+
+    public void publish(Kind kind, TaskManagement task, TaskManagement previous) {
+        append(kind, List.of(task), previous, null);
+    }
+
+    public void publishAll(Kind kind, List<TaskManagement> tasks) {
+        append(kind, tasks, null, null);
+    }
+
+    public void publishComment(TaskManagement task, Comment comment) {
+        append(Kind.COMMENTED, List.of(task), null, comment);
+    }
+
+    /*
+    * Changes after afterOffset that are still in the ring are replayed first, then live ones follow;
+    * afterOffset == null starts with the next change. Call close() when the subscriber goes away.
+    * */
+    public Subscription subscribe(Filter filter, Long afterOffset) {
+        long last = sequence.get();
+        long oldest = Math.max(last - ring.length(), 0) + 1;
+        long cursor = last + 1;
+        boolean missed = false;
+        if (afterOffset != null) {
+            missed = afterOffset + 1 < oldest || afterOffset > last;
+            if (afterOffset <= last) {
+                cursor = Math.max(afterOffset + 1, oldest);
+            }
+        }
+        Subscription subscription = new Subscription(filter, cursor, last, missed);
+        subscribers.add(subscription);
+        return subscription;
+    }
+
+    // The listener runs on the feed's listener thread, one change at a time in the order they were queued.
+    public void addListener(Consumer<Change> listener) {
+        listeners.add(listener);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long overflowCount() {
+        return overflows.sum();
+    }
+
+    // Stops the listener thread after it has delivered what is queued.
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            LockSupport.unpark(listenerThread);
+            listenerThread.join(1_000);
+        }
+    }
+
+
+    private void append(Kind kind, List<TaskManagement> tasks, TaskManagement previous, Comment comment) {
+        long now = System.currentTimeMillis();
+        long first = sequence.getAndAdd(tasks.size()) + 1;
+        List<Change> changes = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Change change = new Change(first + i, now, kind, tasks.get(i), previous, comment);
+            store(change);
+            changes.add(change);
+        }
+        // Every parked subscriber added itself before re-checking the ring, so none misses these
+        for (Thread waiter : waiting) {
+            LockSupport.unpark(waiter);
+        }
+        if (listeners.isEmpty()) {
+            return;
+        }
+        if (listenerThread == null) {
+            for (Consumer<Change> listener : listeners) {
+                changes.forEach(listener);
+            }
+            return;
+        }
+        listenerQueue.addAll(changes);
+        if (listenerParked) {
+            LockSupport.unpark(listenerThread);
+        }
+    }
+
+    // A writer that lost a whole lap of the ring to others must not put its older change over a newer one.
+    private void store(Change change) {
+        int slot = (int) (change.offset() & mask);
+        while (true) {
+            Change current = ring.get(slot);
+            if ((current != null && current.offset() > change.offset()) || ring.compareAndSet(slot, current, change)) {
+                return;
+            }
+        }
+    }
+
+    private void listenerLoop() {
+        while (running || !listenerQueue.isEmpty()) {
+            Change change = listenerQueue.poll();
+            if (change == null) {
+                listenerParked = true;
+                if (running && listenerQueue.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                listenerParked = false;
+                continue;
+            }
+            for (Consumer<Change> listener : listeners) {
+                try {
+                    listener.accept(change);
+                } catch (RuntimeException e) {
+                    log.error("Change listener failed on offset {}", change.offset(), e);
+                }
+            }
+        }
+    }
+
+
+    public final class Subscription implements AutoCloseable {
+        private final Filter filter;
+        private final boolean missedChanges;
+        // Changes up to here were already written when it subscribed: a replay is only cut short by the ring lapping it
+        private final long replayUntil;
+        // Next offset to read; only the consuming thread moves it
+        private long cursor;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscription(Filter filter, long cursor, long replayUntil, boolean missedChanges) {
+            this.filter = filter;
+            this.cursor = cursor;
+            this.replayUntil = replayUntil;
+            this.missedChanges = missedChanges;
+        }
+
+        /*
+        * The next matching change, replayed ones first; null when nothing arrived within the timeout,
+        * or at once when the subscription overflowed or was closed.
+        * */
+        public Change next(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!overflowed && !closed) {
+                Change change = poll();
+                if (change != null) {
+                    return change;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (overflowed || remaining <= 0) {
+                    return null;
+                }
+                await(remaining);
+            }
+            return null;
+        }
+
+        // The resume offset was older than the ring (or unknown to this process): changes were missed.
+        public boolean missedChanges() {
+            return missedChanges;
+        }
+
+        public boolean overflowed() {
+            return overflowed;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        // Walks the cursor over published changes up to the first match; null once it reaches one still being written.
+        private Change poll() {
+            while (true) {
+                long last = sequence.get();
+                if (cursor > last) {
+                    return null;
+                }
+                if (cursor > replayUntil && last - cursor + 1 > maxLag) {
+                    overflow();
+                    return null;
+                }
+                Change change = ring.get((int) (cursor & mask));
+                if (change == null || change.offset() < cursor) {
+                    return null;
+                }
+                if (change.offset() > cursor) {
+                    // Lapped between the lag check and the read
+                    overflow();
+                    return null;
+                }
+                cursor++;
+                if (filter.matches(change)) {
+                    return change;
+                }
+            }
+        }
+
+        private void await(long nanos) throws InterruptedException {
+            Thread thread = Thread.currentThread();
+            waiting.add(thread);
+            try {
+                Change change = ring.get((int) (cursor & mask));
+                if (change == null || change.offset() < cursor) {
+                    LockSupport.parkNanos(this, nanos);
+                }
+            } finally {
+                waiting.remove(thread);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        private void overflow() {
+            overflowed = true;
+            overflows.increment();
+            subscribers.remove(this);
+        }
+    }
+}
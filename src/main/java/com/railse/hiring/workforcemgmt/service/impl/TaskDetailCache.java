@@ -0,0 +1,161 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.CacheStatsDto;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+
+/*
+* Bounded cache of rendered task details (GET /{id}) for dashboards that poll the same tasks.
+*
+* Entries are keyed by task id and stamped with the version and the activity/comment counts they were
+* rendered from. save bumps the version, saveTask/appendActivities/saveCommentByTaskId grow a count, so
+* a lookup with the current stamp never serves a detail that is behind the store, whatever path wrote
+* to it. A stale entry is replaced on its next lookup or ages out.
+*
+* Eviction is least-recently-used within a segment (access-ordered LinkedHashMap); ids are spread over
+* SEGMENTS so polls of different tasks do not queue on one lock.
+*
+* The DTOs and comments are mutable, so the cache keeps its own copy of each detail and hands every
+* caller a fresh one; a caller changing what it got never changes what the next reader sees.
+* */
+@Component
+public class TaskDetailCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final int capacity;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+    public TaskDetailCache(@Value("${task-mgmt.detail-cache.capacity:10000}") int capacity) {
+        this.capacity = Math.max(capacity, 0);
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = (this.capacity + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+
+    // The cached detail when it was rendered from exactly this state, otherwise render() and keep the result.
+    TaskManagementDto get(TaskManagement task, int activityCount, int commentCount, Supplier<TaskManagementDto> render) {
+        if (capacity == 0) {
+            return render.get();
+        }
+        Segment segment = segments[Long.hashCode(task.getId()) & (SEGMENTS - 1)];
+        Stamp stamp = new Stamp(task.getVersion(), activityCount, commentCount);
+        Entry cached;
+        segment.lock.lock();
+        try {
+            cached = segment.get(task.getId());
+        } finally {
+            segment.lock.unlock();
+        }
+        if (cached != null && cached.stamp().equals(stamp)) {
+            hits.increment();
+            return copyOf(cached.detail());
+        }
+
+        misses.increment();
+        TaskManagementDto detail = render.get();
+        segment.lock.lock();
+        try {
+            Entry current = segment.get(task.getId());
+            // A slower render of an older state must not replace a newer one.
+            if (current == null || !current.stamp().isNewerThan(stamp)) {
+                segment.put(task.getId(), new Entry(stamp, copyOf(detail)));
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        return detail;
+    }
+
+    public CacheStatsDto stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new CacheStatsDto(hits.sum(), misses.sum(), evictions.sum(), size, capacity);
+    }
+
+
+    // Activities are immutable and can be shared; everything else is copied.
+    private static TaskManagementDto copyOf(TaskManagementDto detail) {
+        TaskManagementDto copy = new TaskManagementDto();
+        copy.setId(detail.getId());
+        copy.setReferenceId(detail.getReferenceId());
+        copy.setReferenceType(detail.getReferenceType());
+        copy.setTask(detail.getTask());
+        copy.setDescription(detail.getDescription());
+        copy.setStatus(detail.getStatus());
+        copy.setAssigneeId(detail.getAssigneeId());
+        copy.setTaskDeadlineTime(detail.getTaskDeadlineTime());
+        copy.setPriority(detail.getPriority());
+        copy.setVersion(detail.getVersion());
+        copy.setActivityList(detail.getActivityList() == null ? null : new ArrayList<>(detail.getActivityList()));
+        if (detail.getCommentList() != null) {
+            List<Comment> comments = new ArrayList<>(detail.getCommentList().size());
+            for (Comment comment : detail.getCommentList()) {
+                comments.add(new Comment(comment.getLocalDateTime(), comment.getName(), comment.getComment()));
+            }
+            copy.setCommentList(comments);
+        }
+        copy.setActivityCount(detail.getActivityCount());
+        copy.setCommentCount(detail.getCommentCount());
+        return copy;
+    }
+
+
+    private record Stamp(long version, int activityCount, int commentCount) {
+
+        boolean isNewerThan(Stamp other) {
+            return version >= other.version && activityCount >= other.activityCount && commentCount >= other.commentCount
+                    && !equals(other);
+        }
+    }
+
+    private record Entry(Stamp stamp, TaskManagementDto detail) {
+    }
+
+
+    private final class Segment extends LinkedHashMap<Long, Entry> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int maxEntries;
+
+        Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,27 +1,39 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
+import com.railse.hiring.workforcemgmt.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.exception.OptimisticLockException;
 import com.railse.hiring.workforcemgmt.exception.ResourceNotFoundException;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
 import com.railse.hiring.workforcemgmt.model.Activity;
 import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.Comment;
 import com.railse.hiring.workforcemgmt.model.CommentOnTask;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.model.response.Pagination;
+import com.railse.hiring.workforcemgmt.repository.DeadlineCursor;
 import com.railse.hiring.workforcemgmt.repository.TaskRepository;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 
 @Service
@@ -29,13 +41,42 @@ import java.util.stream.Collectors;
 public class TaskManagementServiceImpl implements TaskManagementService {
 
 
-    private final TaskRepository taskRepository;
-    private final ITaskManagementMapper taskMapper;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Tasks read from the repository per step of a streamed listing
+    private static final int STREAM_CHUNK_SIZE = 256;
+    // Newest activities/comments embedded in a task response; older ones are paged separately
+    private static final int RECENT_HISTORY_SIZE = 20;
+    private static final int REFERENCE_LOCK_STRIPES = 256;
+    // Timer of the request-facing operations, one series per method; histogram and percentiles are set in application.properties
+    private static final String TIMER = "task.service";
 
 
-    public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper) {
+    private final TaskRepository taskRepository;
+    private final ITaskManagementMapper taskMapper;
+    // Activities go through here, off the request thread
+    private final AuditLog auditLog;
+    // Rendered details of polled tasks, checked against the task version and history counts
+    private final TaskDetailCache detailCache;
+    // Every write is published here for /changes subscribers
+    private final TaskChangeFeed changeFeed;
+    // Compare-and-save attempts per task before an update is rejected with 409
+    private final int maxUpdateAttempts;
+    private final ReferenceLocks referenceLocks = new ReferenceLocks(REFERENCE_LOCK_STRIPES);
+    // Lost compare-and-save races, and updates rejected with 409 (version mismatch or out of attempts)
+    private final LongAdder optimisticLockConflicts = new LongAdder();
+    private final LongAdder optimisticLockRejections = new LongAdder();
+
+
+    public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper, AuditLog auditLog,
+                                     TaskDetailCache detailCache, TaskChangeFeed changeFeed,
+                                     @Value("${task-mgmt.optimistic-lock.max-attempts:5}") int maxUpdateAttempts) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
+        this.auditLog = auditLog;
+        this.detailCache = detailCache;
+        this.changeFeed = changeFeed;
+        this.maxUpdateAttempts = Math.max(maxUpdateAttempts, 1);
     }
 
 
@@ -43,68 +84,243 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     *Feature 3,goal 3
     * When a user fetches the details for a single task,
     * the API response must include its complete activity
-    * history and all user comments, sorted
-    *
+    * history and all user comments, sorted.
+    * The detail embeds the newest entries plus the total counts; the full
+    * history is paged through fetchActivities/fetchComments.
     * */
     @Override
+    @Timed(TIMER)
     public TaskManagementDto findTaskById(Long id) {
         TaskManagement task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        int activityCount = taskRepository.countActivityByTaskId(id);
+        int commentCount = taskRepository.countCommentsByTaskId(id);
+
+        return detailCache.get(task, activityCount, commentCount,
+                () -> attachRecentHistory(taskMapper.modelToDto(task), activityCount, commentCount));
+    }
+
+    @Override
+    @Timed(TIMER)
+    public TaskCountsDto countTasks(Long assigneeId) {
+        Map<Priority, Map<TaskStatus, Long>> counts = taskRepository.countByPriorityAndStatus(assigneeId);
+        long total = 0;
+        for (Map<TaskStatus, Long> byStatus : counts.values()) {
+            for (long count : byStatus.values()) {
+                total += count;
+            }
+        }
+        return new TaskCountsDto(assigneeId, total, counts);
+    }
+
+    @Override
+    public CacheStatsDto detailCacheStats() {
+        return detailCache.stats();
+    }
+
+    public long optimisticLockConflicts() {
+        return optimisticLockConflicts.sum();
+    }
 
-        task.setActivityList(taskRepository.findActivityByTaskId(id)
-                .stream()
-                .sorted((a,b)->sortBasedOnDate(a.getLocalDateTime(),b.getLocalDateTime()))
-                .toList());
-        task.setCommentList(taskRepository.findCommentsByTaskId(id)
-                .stream()
-                .sorted((a,b)->sortBasedOnDate(a.getLocalDateTime(),b.getLocalDateTime()))
-                .toList());
-        return taskMapper.modelToDto(task);
+    public long optimisticLockRejections() {
+        return optimisticLockRejections.sum();
+    }
+
+
+    @Override
+    @Timed(TIMER)
+    public PageDto<Activity> fetchActivities(Long taskId, String cursor, Integer limit) {
+        requireTask(taskId);
+        int pageSize = pageSize(limit);
+        int from = historyPosition(cursor);
+        return historyPage(taskRepository.findActivityByTaskId(taskId, from, pageSize + 1), from, pageSize);
     }
 
+
     @Override
+    @Timed(TIMER)
+    public PageDto<Comment> fetchComments(Long taskId, String cursor, Integer limit) {
+        requireTask(taskId);
+        int pageSize = pageSize(limit);
+        int from = historyPosition(cursor);
+        return historyPage(taskRepository.findCommentsByTaskId(taskId, from, pageSize + 1), from, pageSize);
+    }
+
+
+    /*
+    * Optimistic read-modify-write, starting from a snapshot the caller already read.
+    * With an expectedVersion from the client a stale version is rejected straight away;
+    * without one the change is re-applied to the latest snapshot until it wins the
+    * compare-and-save or runs out of attempts.
+    * A change that returns null leaves the task as it is and null is returned.
+    * */
+    private TaskManagement updateWithRetry(TaskManagement snapshot, Long expectedVersion, UnaryOperator<TaskManagement> change) {
+        Long id = snapshot.getId();
+        TaskManagement current = snapshot;
+        for (int attempt = 1; ; attempt++) {
+            if (attempt > 1) {
+                current = taskRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            }
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                optimisticLockRejections.increment();
+                throw new OptimisticLockException("Task " + id + " is at version " + current.getVersion()
+                        + ", expected " + expectedVersion);
+            }
+            TaskManagement updated = change.apply(current);
+            if (updated == null) {
+                return null;
+            }
+            Optional<TaskManagement> saved = taskRepository.compareAndSave(updated);
+            if (saved.isPresent()) {
+                changeFeed.publish(TaskChangeFeed.Kind.UPDATED, saved.get(), current);
+                return saved.get();
+            }
+            optimisticLockConflicts.increment();
+            if (attempt >= maxUpdateAttempts) {
+                optimisticLockRejections.increment();
+                throw new OptimisticLockException("Task " + id + " was modified concurrently, gave up after "
+                        + attempt + " attempts");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Validation pass of a batch: every task must exist before any of them is written.
+    private Map<Long, TaskManagement> loadAll(List<Long> ids) {
+        Map<Long, TaskManagement> tasks = taskRepository.findAllById(ids);
+        for (Long id : ids) {
+            if (!tasks.containsKey(id)) {
+                throw new ResourceNotFoundException("Task not found with id: " + id);
+            }
+        }
+        return tasks;
+    }
+
+    private void requireTask(Long id) {
+        if (taskRepository.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + id);
+        }
+    }
+
+    /*
+    * History is attached to the response only; the stored snapshot is never written on read.
+    * The history logs are append-only and oldest first, so the newest entries are the tail.
+    * */
+    private TaskManagementDto toDtoWithRecentHistory(TaskManagement task) {
+        return attachRecentHistory(taskMapper.modelToDto(task));
+    }
+
+    private List<TaskManagementDto> toDtosWithRecentHistory(List<TaskManagement> tasks) {
+        List<TaskManagementDto> dtos = taskMapper.modelListToDtoList(tasks);
+        dtos.forEach(this::attachRecentHistory);
+        return dtos;
+    }
+
+    /*
+    * As above, for the tasks a write just changed. Their new activities may still be queued in the audit log,
+    * so any of them not yet in the stored history are appended from the list in hand.
+    * */
+    private List<TaskManagementDto> toDtosWithRecentHistory(List<TaskManagement> tasks, List<ActivityOnTask> recorded) {
+        List<TaskManagementDto> dtos = toDtosWithRecentHistory(tasks);
+        Map<Long, List<Activity>> recordedByTask = new HashMap<>();
+        for (ActivityOnTask activity : recorded) {
+            recordedByTask.computeIfAbsent(activity.getTaskId(), id -> new ArrayList<>()).add(activity.getActivity());
+        }
+        for (TaskManagementDto dto : dtos) {
+            List<Activity> own = recordedByTask.get(dto.getId());
+            if (own == null) {
+                continue;
+            }
+            List<Activity> history = new ArrayList<>(dto.getActivityList());
+            int pending = 0;
+            for (Activity activity : own) {
+                if (!history.contains(activity)) {
+                    history.add(activity);
+                    pending++;
+                }
+            }
+            if (pending > 0) {
+                dto.setActivityList(new ArrayList<>(history.subList(Math.max(history.size() - RECENT_HISTORY_SIZE, 0), history.size())));
+                dto.setActivityCount(dto.getActivityCount() + pending);
+            }
+        }
+        return dtos;
+    }
+
+    private TaskManagementDto attachRecentHistory(TaskManagementDto dto) {
+        return attachRecentHistory(dto, taskRepository.countActivityByTaskId(dto.getId()),
+                taskRepository.countCommentsByTaskId(dto.getId()));
+    }
+
+    // The newest entries up to the given counts; later appends are left for the next read.
+    private TaskManagementDto attachRecentHistory(TaskManagementDto dto, int activityCount, int commentCount) {
+        dto.setActivityList(taskRepository.findActivityByTaskId(dto.getId(),
+                Math.max(activityCount - RECENT_HISTORY_SIZE, 0), RECENT_HISTORY_SIZE));
+        dto.setCommentList(taskRepository.findCommentsByTaskId(dto.getId(),
+                Math.max(commentCount - RECENT_HISTORY_SIZE, 0), RECENT_HISTORY_SIZE));
+        dto.setActivityCount(activityCount);
+        dto.setCommentCount(commentCount);
+        return dto;
+    }
+
+    // History cursors are positions in the task's append-only log.
+    private int historyPosition(String cursor) {
+        int position = cursor == null ? 0 : parseCursor(cursor, Integer::valueOf);
+        if (position < 0) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        return position;
+    }
+
+    private <T> PageDto<T> historyPage(List<T> fetched, int from, int pageSize) {
+        boolean hasMore = fetched.size() > pageSize;
+        List<T> page = hasMore ? fetched.subList(0, pageSize) : fetched;
+        String nextCursor = hasMore ? String.valueOf(from + pageSize) : null;
+        return new PageDto<>(page, new Pagination(nextCursor, hasMore, pageSize));
+    }
+
+    @Override
+    @Timed(TIMER)
     public List<TaskManagementDto> updateTaskPriority(RequestTaskPriorityUpdate request) {
-        List<TaskManagement> updatedTasks = new ArrayList<>();
-        for (RequestTaskPriorityUpdate.UpdatePriority item : request.getUpdateProrityList()) {
-            TaskManagement task = taskRepository.findById(item.getTaskId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + item.getTaskId()));
-
-
-
-            task.setPriority(item.getPriority());
-
-            log.info("User {} changed the priority to {} of task_id {}",request.getUserName(),item.getPriority()
-            ,item.getTaskId());
-            taskRepository.saveTask(
-                    new ActivityOnTask(
-                            item.getTaskId(),
-                            new Activity(LocalDateTime.now(),
-                                    request.getUserName(),
-                                    String.format("User %s changed the priority to %s of task_id %s.",
-                                            request.getUserName(),
-                                            item.getPriority(),
-                                            item.getTaskId()
-                                    ))
-                    )
-            );
-            TaskManagement savedTask=taskRepository.save(task);
-            savedTask.setActivityList(taskRepository.findActivityByTaskId(savedTask.getId())
-                    .stream()
-                    .sorted((a,b)->sortBasedOnDate(a.getLocalDateTime(),b.getLocalDateTime()))
-                    .toList());
-            updatedTasks.add(savedTask);
+        List<RequestTaskPriorityUpdate.UpdatePriority> items = request.getUpdateProrityList();
+        Map<Long, TaskManagement> currentTasks = loadAll(items.stream().map(RequestTaskPriorityUpdate.UpdatePriority::getTaskId).toList());
+
+        List<TaskManagement> updatedTasks = new ArrayList<>(items.size());
+        List<ActivityOnTask> activities = new ArrayList<>(items.size());
+        long now = System.currentTimeMillis();
+        try {
+            for (RequestTaskPriorityUpdate.UpdatePriority item : items) {
+                TaskManagement savedTask = updateWithRetry(currentTasks.get(item.getTaskId()), item.getVersion(),
+                        task -> task.withPriority(item.getPriority()));
+                updatedTasks.add(savedTask);
+                activities.add(new ActivityOnTask(item.getTaskId(), Activity.of(now, request.getUserName(),
+                        ActivityType.PRIORITY_CHANGED, item.getTaskId(), String.valueOf(item.getPriority()))));
+                log.debug("User {} changed the priority to {} of task_id {}", request.getUserName(), item.getPriority(), item.getTaskId());
+            }
+        } finally {
+            // Writes committed before a failing item keep their activities
+            auditLog.record(activities);
         }
-        return taskMapper.modelListToDtoList(updatedTasks);
+        log.info("User {} changed the priority of {} task(s)", request.getUserName(), items.size());
+        return toDtosWithRecentHistory(updatedTasks, activities);
     }
     //feature 2 is implemented here i.e. fetch all tasks of a specific priority
     @Override
-    public List<TaskManagementDto> fetchTasksByPriority(Priority priority) {
+    @Timed(TIMER)
+    public PageDto<TaskManagementDto> fetchTasksByPriority(Priority priority, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        Long afterId = cursor == null ? null : parseCursor(cursor, Long::valueOf);
+        List<TaskManagement> tasks = taskRepository.findByPriority(priority, afterId, pageSize + 1);
+        return toPage(tasks, pageSize, task -> String.valueOf(task.getId()));
+    }
+
 
-        return taskRepository.findAll()
-                .stream()
-                .filter(taskManagement ->taskManagement.getPriority().equals(priority))
-                .map(taskMapper::modelToDto)
-                .toList();
+    @Override
+    @Timed(TIMER)
+    public void streamTasksByPriority(Priority priority, Consumer<TaskManagementDto> sink) {
+        streamChunks(afterId -> taskRepository.findByPriority(priority, afterId, STREAM_CHUNK_SIZE),
+                TaskManagement::getId, sink);
     }
 
 
@@ -114,100 +330,103 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     * Allow users to add free-text comments to a task.
      * */
     @Override
+    @Timed(TIMER)
     public void commentOnTask(CommentOnTask commentOnTask) {
         commentOnTask.getComments().setLocalDateTime(LocalDateTime.now());
         taskRepository.saveCommentByTaskId(commentOnTask);
+        taskRepository.findById(commentOnTask.getTaskId())
+                .ifPresent(task -> changeFeed.publishComment(task, commentOnTask.getComments()));
     }
 
 
     //feature 3 implemented here i.e. any update on task will be logged on console
+    // Batch path: one saveAll, one audit hand-off and one summary log line per request.
     @Override
+    @Timed(TIMER)
     public List<TaskManagementDto> createTasks(TaskCreateRequest createRequest) {
-        List<TaskManagement> createdTasks = new ArrayList<>();
-        for (TaskCreateRequest.RequestItem item : createRequest.getRequests()) {
-            TaskManagement newTask = new TaskManagement();
-            newTask.setReferenceId(item.getReferenceId());
-            newTask.setReferenceType(item.getReferenceType());
-            newTask.setTask(item.getTask());
-            newTask.setAssigneeId(item.getAssigneeId());
-            newTask.setPriority(item.getPriority());
-            newTask.setTaskDeadlineTime(item.getTaskDeadlineTime());
-            newTask.setStatus(TaskStatus.ASSIGNED);
-            newTask.setDescription("New task created.");
-            TaskManagement savedTask=taskRepository.save(newTask);
-            log.info("User {} created this task_id {}({}).",createRequest.getUserName(),savedTask.getId(),savedTask.getTask());
-            taskRepository.saveTask(
-                    new ActivityOnTask(
-                            savedTask.getId(),
-                            new Activity(LocalDateTime.now(),
-                                    createRequest.getUserName(),
-                                    String.format("User %s created the task_id %s.",
-                                            createRequest.getUserName(),
-                                            savedTask.getId()
-                                    ))
-                    )
-            );
-            newTask.setActivityList(taskRepository.findActivityByTaskId(savedTask.getId()));
-            createdTasks.add(savedTask);
+        List<TaskCreateRequest.RequestItem> items = createRequest.getRequests();
+        List<TaskManagement> newTasks = new ArrayList<>(items.size());
+        for (TaskCreateRequest.RequestItem item : items) {
+            newTasks.add(TaskManagement.builder()
+                    .referenceId(item.getReferenceId())
+                    .referenceType(item.getReferenceType())
+                    .task(item.getTask())
+                    .assigneeId(item.getAssigneeId())
+                    .priority(item.getPriority())
+                    .taskDeadlineTime(item.getTaskDeadlineTime())
+                    .status(TaskStatus.ASSIGNED)
+                    .description("New task created.")
+                    .build());
         }
-        return taskMapper.modelListToDtoList(createdTasks);
-    }
-
-    private int sortBasedOnDate(LocalDateTime a, LocalDateTime b){
-
-        if(a.isAfter(b))return 1;
-        if(a.isBefore(b))return -1;
-        return 0;
+        List<TaskManagement> savedTasks = taskRepository.saveAll(newTasks);
+        changeFeed.publishAll(TaskChangeFeed.Kind.CREATED, savedTasks);
+
+        List<ActivityOnTask> activities = new ArrayList<>(savedTasks.size());
+        long now = System.currentTimeMillis();
+        for (TaskManagement savedTask : savedTasks) {
+            activities.add(new ActivityOnTask(savedTask.getId(),
+                    Activity.of(now, createRequest.getUserName(), ActivityType.TASK_CREATED, savedTask.getId())));
+            log.debug("User {} created this task_id {}({}).", createRequest.getUserName(), savedTask.getId(), savedTask.getTask());
+        }
+        auditLog.record(activities);
+        log.info("User {} created {} task(s)", createRequest.getUserName(), savedTasks.size());
+        return toDtosWithRecentHistory(savedTasks, activities);
     }
 
     //feature 3 implemented here i.e. any update on task will be logged on console
+    // Every task is checked to exist before anything is written; each write is still an individual compare-and-save.
     @Override
+    @Timed(TIMER)
     public List<TaskManagementDto> updateTasks(UpdateTaskRequest updateRequest) {
-        List<TaskManagement> updatedTasks = new ArrayList<>();
-        for (UpdateTaskRequest.RequestItem item : updateRequest.getRequests()) {
-            TaskManagement task = taskRepository.findById(item.getTaskId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + item.getTaskId()));
-
-
-            if (item.getTaskStatus() != null) {
-                task.setStatus(item.getTaskStatus());
-            }
-            if (item.getDescription() != null) {
-                task.setDescription(item.getDescription());
+        List<UpdateTaskRequest.RequestItem> items = updateRequest.getRequests();
+        Map<Long, TaskManagement> currentTasks = loadAll(items.stream().map(UpdateTaskRequest.RequestItem::getTaskId).toList());
+
+        List<TaskManagement> updatedTasks = new ArrayList<>(items.size());
+        List<ActivityOnTask> activities = new ArrayList<>(items.size());
+        long now = System.currentTimeMillis();
+        try {
+            for (UpdateTaskRequest.RequestItem item : items) {
+                TaskManagement savedTask = updateWithRetry(currentTasks.get(item.getTaskId()), item.getVersion(), task -> {
+                    TaskManagement updated = task;
+                    if (item.getTaskStatus() != null) {
+                        updated = updated.withStatus(item.getTaskStatus());
+                    }
+                    if (item.getDescription() != null) {
+                        updated = updated.withDescription(item.getDescription());
+                    }
+                    return updated;
+                });
+                updatedTasks.add(savedTask);
+                activities.add(new ActivityOnTask(item.getTaskId(),
+                        Activity.of(now, updateRequest.getUserName(), ActivityType.TASK_UPDATED, item.getTaskId())));
+                log.debug("User {} updated the task_id {}", updateRequest.getUserName(), item.getTaskId());
             }
-
-            log.info("User {} updated the task_id {}",updateRequest.getUserName(),item.getTaskId());
-            taskRepository.saveTask(
-                    new ActivityOnTask(
-                            item.getTaskId(),
-                            new Activity(LocalDateTime.now(),
-                                    updateRequest.getUserName(),
-                                    String.format("User %s updated the task_id %s.",
-                                            updateRequest.getUserName(),
-                                            item.getTaskId()
-                                    ))
-                    )
-            );
-            TaskManagement savedTask=taskRepository.save(task);
-            savedTask.setActivityList(taskRepository.findActivityByTaskId(savedTask.getId())
-                    .stream()
-                    .sorted((a,b)->sortBasedOnDate(a.getLocalDateTime(),b.getLocalDateTime()))
-                    .toList());
-            updatedTasks.add(savedTask);
+        } finally {
+            // Writes committed before a failing item keep their activities
+            auditLog.record(activities);
         }
-        return taskMapper.modelListToDtoList(updatedTasks);
+        log.info("User {} updated {} task(s)", updateRequest.getUserName(), items.size());
+        return toDtosWithRecentHistory(updatedTasks, activities);
     }
 
 
+    // One reference is assigned as a unit: concurrent calls for the same reference run one after another.
     @Override
+    @Timed(TIMER)
     public String assignByReference(AssignByReferenceRequest request) {
+        return referenceLocks.withLock(request.getReferenceId(), request.getReferenceType(),
+                () -> assignWithinReference(request));
+    }
+
+
+    private String assignWithinReference(AssignByReferenceRequest request) {
         List<Task> applicableTasks = Task.getTasksByReferenceType(request.getReferenceType());
         List<TaskManagement> existingTasks = taskRepository.findByReferenceIdAndReferenceType(request.getReferenceId(), request.getReferenceType());
 
 
         for (Task taskType : applicableTasks) {
             List<TaskManagement> tasksOfType = existingTasks.stream()
-                    .filter(t -> t.getTask() == taskType && t.getStatus() != TaskStatus.COMPLETED)
+                    .filter(t -> t.getTask() == taskType && isReassignable(t))
                     .toList();
 
 
@@ -215,71 +434,123 @@ public class TaskManagementServiceImpl implements TaskManagementService {
             // Instead, it reassigns ALL of them.
             if (!tasksOfType.isEmpty()) {
                 //Fix->1
-                // Reassign the first task
-                TaskManagement taskToAssign = tasksOfType.get(0);
-                taskToAssign.setAssigneeId(request.getAssigneeId());
-                taskToAssign.setStatus(TaskStatus.ASSIGNED);
-                log.info("User {} assigned the task_id {}({}) to assigned_id {}.",request.getUserName(),taskToAssign.getId(),taskToAssign.getTask(),request.getAssigneeId());
-
-                taskRepository.save(taskToAssign);
-
-                // Cancel the rest
-                for (int i = 1; i < tasksOfType.size(); i++) {
-                    TaskManagement taskToCancel = tasksOfType.get(i);
-                    taskToCancel.setStatus(TaskStatus.CANCELLED);
-                    taskRepository.save(taskToCancel);
+                // Reassign the first task, cancel the rest. Each write checks the task again: /update does not take
+                // the reference lock, so a task completed since the read is left alone and the next one is assigned.
+                TaskManagement assigned = null;
+                for (TaskManagement candidate : tasksOfType) {
+                    if (assigned == null) {
+                        assigned = updateWithRetry(candidate, null, task -> isReassignable(task)
+                                ? task.toBuilder().assigneeId(request.getAssigneeId()).status(TaskStatus.ASSIGNED).build()
+                                : null);
+                        if (assigned != null) {
+                            log.info("User {} assigned the task_id {}({}) to assigned_id {}.", request.getUserName(),
+                                    assigned.getId(), assigned.getTask(), request.getAssigneeId());
+                        }
+                    } else {
+                        updateWithRetry(candidate, null, task -> isReassignable(task) ? task.withStatus(TaskStatus.CANCELLED) : null);
+                    }
                 }
             } else {
                 // Create a new task if none exist
-                TaskManagement newTask = new TaskManagement();
-                newTask.setReferenceId(request.getReferenceId());
-                newTask.setReferenceType(request.getReferenceType());
-                newTask.setTask(taskType);
-                newTask.setAssigneeId(request.getAssigneeId());
-                newTask.setStatus(TaskStatus.ASSIGNED);
-                taskRepository.save(newTask);
+                TaskManagement created = taskRepository.save(TaskManagement.builder()
+                        .referenceId(request.getReferenceId())
+                        .referenceType(request.getReferenceType())
+                        .task(taskType)
+                        .assigneeId(request.getAssigneeId())
+                        .status(TaskStatus.ASSIGNED)
+                        .build());
+                changeFeed.publish(TaskChangeFeed.Kind.CREATED, created, null);
             }
         }
         return "Tasks assigned successfully for reference " + request.getReferenceId();
     }
 
+    // Completed tasks are kept as they are; any other task of the reference can be reassigned or cancelled.
+    private static boolean isReassignable(TaskManagement task) {
+        return task.getStatus() != TaskStatus.COMPLETED;
+    }
+
     /*
     Here bug 2 and feature 1 (All active tasks that started within that range
     and all active tasks that started before the range but are still open and not yet completed.) implemented
      */
     @Override
-    public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
-        List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
-
-        LocalDateTime startDate = Instant.ofEpochMilli(request.getStartDate())
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
-
-        LocalDateTime endDate = Instant.ofEpochMilli(request.getEndDate())
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
-
-        // BUG #2 is here. It should filter out CANCELLED tasks but doesn't.
-        List<TaskManagement> filteredTasks = tasks.stream()
-                .filter(task -> {
-                    // This logic is incomplete for the assignment.
-                    // It should check against startDate and endDate.
-                    // For now, it just returns all tasks for the assignees.
-                    //return true;
-                    // Exclude cancelled or completed tasks
-                    if (task.getStatus() == TaskStatus.CANCELLED || task.getStatus() == TaskStatus.COMPLETED) {
-                        return false;
-                    };//Fixed->2
-
-                    LocalDateTime taskEndDate=Instant.ofEpochMilli(task.getTaskDeadlineTime())
-                            .atZone(ZoneId.systemDefault())
-                            .toLocalDateTime();
-
-                    return taskEndDate.isBefore(endDate);
-                })
-                .collect(Collectors.toList());
-
-
-        return taskMapper.modelListToDtoList(filteredTasks);
+    @Timed(TIMER)
+    public PageDto<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
+        int pageSize = pageSize(request.getLimit());
+        DeadlineCursor after = request.getCursor() == null ? null : parseCursor(request.getCursor(), DeadlineCursor::parse);
+        // Open tasks whose deadline is before the end of the range, served from the deadline index.
+        List<TaskManagement> openTasks = taskRepository.findOpenByAssigneeIdInAndDeadlineBetween(
+                request.getAssigneeIds(), Long.MIN_VALUE, request.getEndDate(), after, pageSize + 1);
+
+        return toPage(openTasks, pageSize,
+                task -> new DeadlineCursor(task.getTaskDeadlineTime(), task.getId()).encode());
+    }
+
+
+    @Override
+    @Timed(TIMER)
+    public PageDto<TaskManagementDto> fetchOpenTasks(Long assigneeId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        DeadlineCursor after = cursor == null ? null : parseCursor(cursor, DeadlineCursor::parse);
+        List<TaskManagement> openTasks = taskRepository.findOpenByAssigneeId(assigneeId, after, pageSize + 1);
+        return toPage(openTasks, pageSize,
+                task -> new DeadlineCursor(task.getTaskDeadlineTime(), task.getId()).encode());
+    }
+
+
+    @Override
+    @Timed(TIMER)
+    public void streamTasksByDate(TaskFetchByDateRequest request, Consumer<TaskManagementDto> sink) {
+        streamChunks(after -> taskRepository.findOpenByAssigneeIdInAndDeadlineBetween(
+                        request.getAssigneeIds(), Long.MIN_VALUE, request.getEndDate(), after, STREAM_CHUNK_SIZE),
+                task -> new DeadlineCursor(task.getTaskDeadlineTime(), task.getId()), sink);
+    }
+
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private <C> C parseCursor(String cursor, Function<String, C> parser) {
+        try {
+            return parser.apply(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /*
+    * Walks the same keyset pages as the paged endpoints, STREAM_CHUNK_SIZE tasks at a time, so the
+    * memory held stays at one chunk however many tasks match. Like paging, the walk sees each task
+    * as it was when its chunk was read.
+    * */
+    private <C> void streamChunks(Function<C, List<TaskManagement>> fetchAfter, Function<TaskManagement, C> cursorOf,
+                                  Consumer<TaskManagementDto> sink) {
+        C after = null;
+        List<TaskManagement> chunk;
+        do {
+            chunk = fetchAfter.apply(after);
+            for (TaskManagement task : chunk) {
+                sink.accept(taskMapper.modelToDto(task));
+            }
+            if (!chunk.isEmpty()) {
+                after = cursorOf.apply(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
+    }
+
+    // Repositories are asked for one row more than the page to learn whether another page exists.
+    private PageDto<TaskManagementDto> toPage(List<TaskManagement> fetched, int pageSize, Function<TaskManagement, String> cursorOf) {
+        boolean hasMore = fetched.size() > pageSize;
+        List<TaskManagement> page = hasMore ? fetched.subList(0, pageSize) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new PageDto<>(taskMapper.modelListToDtoList(page), new Pagination(nextCursor, hasMore, pageSize));
     }
 }
@@ -0,0 +1,25 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+@Name("com.railse.workforcemgmt.RepositoryCall")
+@Label("Task Repository Call")
+@Category("Task Management")
+@StackTrace(false)
+class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    @Description("Endpoint of the request that made the call, or \"background\"")
+    String endpoint;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Items")
+    int items;
+}
@@ -0,0 +1,104 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/*
+* What one request did on its own thread: repository calls and items per operation, time spent in the
+* mapper and in JSON serialization, and bytes allocated. RequestTracingInterceptor starts and finishes it;
+* TracingAspect and TracingJsonConverter add to the current thread's trace when there is one.
+* Work handed to other threads (the audit writer, streamed listings) is not part of the trace.
+* */
+final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final String endpoint;
+    private final long allocatedAtStart;
+    private final RequestTraceEvent event = new RequestTraceEvent();
+    // operation -> {calls, items}
+    private final Map<String, long[]> operations = new HashMap<>();
+    private int repositoryCalls;
+    private long items;
+    private long mappingNanos;
+    private long serializationNanos;
+
+
+    private RequestTrace(String endpoint) {
+        this.endpoint = endpoint;
+        this.allocatedAtStart = allocatedBytes();
+        event.begin();
+    }
+
+
+    static RequestTrace start(String endpoint) {
+        RequestTrace trace = new RequestTrace(endpoint);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    void repositoryCall(String operation, int itemCount) {
+        long[] counts = operations.computeIfAbsent(operation, name -> new long[2]);
+        counts[0]++;
+        counts[1] += itemCount;
+        repositoryCalls++;
+        items += itemCount;
+    }
+
+    void mapping(long nanos) {
+        mappingNanos += nanos;
+    }
+
+    void serialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    // Detaches the trace from the thread and commits its JFR event.
+    Summary finish() {
+        CURRENT.remove();
+        event.end();
+        long allocatedAtEnd = allocatedBytes();
+        long allocated = allocatedAtStart < 0 || allocatedAtEnd < 0 ? -1 : allocatedAtEnd - allocatedAtStart;
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.repositoryCalls = repositoryCalls;
+            event.items = items;
+            event.mappingTime = mappingNanos;
+            event.serializationTime = serializationNanos;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+        return new Summary(endpoint, operations, items, mappingNanos, serializationNanos, allocated);
+    }
+
+
+    // allocatedBytes is -1 where the JVM cannot measure the thread (virtual threads, or no HotSpot counter).
+    record Summary(String endpoint, Map<String, long[]> operations, long items,
+                   long mappingNanos, long serializationNanos, long allocatedBytes) {
+    }
+
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+@Name("com.railse.workforcemgmt.Request")
+@Label("Task Request")
+@Category("Task Management")
+@Description("Repository calls, mapping and serialization time and allocation of one HTTP request")
+@StackTrace(false)
+class RequestTraceEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Repository Calls")
+    int repositoryCalls;
+
+    @Label("Items")
+    @Description("Tasks, activities and comments passed to or returned by the repository")
+    long items;
+
+    @Label("Mapping Time")
+    @Timespan
+    long mappingTime;
+
+    @Label("Serialization Time")
+    @Timespan
+    long serializationTime;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the request thread; -1 when not measurable")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,87 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+* Opens a trace for each handled request and, once the response is written, folds it into per-endpoint
+* meters: repository calls per operation, items, mapping and serialization time, and allocated bytes.
+* Endpoints are the mapping patterns ("POST /task-mgmt/update"), so the tags stay bounded.
+* */
+class RequestTracingInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+
+    RequestTracingInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            RequestTrace.start(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        }
+        return true;
+    }
+
+    // Streaming responses end here on the request thread; what the stream does later is not traced.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish();
+    }
+
+
+    private void finish() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return;
+        }
+        RequestTrace.Summary summary = trace.finish();
+        String endpoint = summary.endpoint();
+        for (Map.Entry<String, long[]> operation : summary.operations().entrySet()) {
+            DistributionSummary.builder("task.trace.repository.calls")
+                    .description("Repository calls per request")
+                    .tags("endpoint", endpoint, "operation", operation.getKey())
+                    .register(registry)
+                    .record(operation.getValue()[0]);
+        }
+        DistributionSummary.builder("task.trace.repository.items")
+                .description("Tasks, activities and comments passed to or returned by the repository per request")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(summary.items());
+        Timer.builder("task.trace.mapping")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(summary.mappingNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("task.trace.serialization")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(summary.serializationNanos(), TimeUnit.NANOSECONDS);
+        if (summary.allocatedBytes() >= 0) {
+            DistributionSummary.builder("task.trace.allocated")
+                    .baseUnit("bytes")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(summary.allocatedBytes());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+
+/*
+* Records every TaskRepository call (as a JFR event, and into the request's trace) and the time spent in
+* the mapper. Items are the size of the batch passed in, or failing that of what came back.
+* Calls made off a request thread (audit writer, scheduler, metrics scrape) are reported as "background".
+* */
+@Aspect
+class TracingAspect {
+
+    private static final String BACKGROUND = "background";
+
+
+    @Around("execution(public * com.railse.hiring.workforcemgmt.repository.TaskRepository+.*(..))")
+    public Object repositoryCall(ProceedingJoinPoint call) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Object result = null;
+        try {
+            result = call.proceed();
+            return result;
+        } finally {
+            event.end();
+            String operation = call.getSignature().getName();
+            int items = items(call.getArgs(), result);
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null) {
+                trace.repositoryCall(operation, items);
+            }
+            if (event.shouldCommit()) {
+                event.endpoint = trace == null ? BACKGROUND : trace.endpoint();
+                event.operation = operation;
+                event.items = items;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper+.*(..))")
+    public Object mapping(ProceedingJoinPoint call) throws Throwable {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return call.proceed();
+        }
+        long started = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            trace.mapping(System.nanoTime() - started);
+        }
+    }
+
+
+    private static int items(Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof Collection<?> batch) {
+                return batch.size();
+            }
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+
+/*
+* Request-scoped tracing, off unless task-mgmt.tracing.enabled=true. When off none of these beans exist,
+* so repository and mapper calls are not proxied and cost nothing extra.
+* Per-request and per-call detail goes to JFR (category "Task Management"); per-endpoint summaries
+* go to the task.trace.* meters.
+* */
+@Configuration
+@ConditionalOnProperty(name = "task-mgmt.tracing.enabled", havingValue = "true")
+public class TracingConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+
+    public TracingConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new RequestTracingInterceptor(registry));
+    }
+
+    @Bean
+    static TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    // Takes the place of Boot's default JSON converter, which backs off when one is defined.
+    @Bean
+    MappingJackson2HttpMessageConverter tracingJsonConverter(ObjectMapper objectMapper) {
+        return new TracingJsonConverter(objectMapper);
+    }
+}
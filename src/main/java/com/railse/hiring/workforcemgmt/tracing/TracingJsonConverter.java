@@ -0,0 +1,33 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+
+// The regular JSON converter, timing each response body it writes (including the write to the socket buffer).
+class TracingJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    TracingJsonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTrace trace = RequestTrace.current();
+        long started = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            if (trace != null) {
+                trace.serialization(System.nanoTime() - started);
+            }
+        }
+    }
+}
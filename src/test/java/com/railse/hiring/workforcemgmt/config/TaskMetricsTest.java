@@ -0,0 +1,69 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import com.railse.hiring.workforcemgmt.service.impl.AuditLog;
+import com.railse.hiring.workforcemgmt.service.impl.DeadlineEscalator;
+import com.railse.hiring.workforcemgmt.service.impl.TaskChangeFeed;
+import com.railse.hiring.workforcemgmt.service.impl.TaskDetailCache;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskMetricsTest {
+
+	private SimpleMeterRegistry registry;
+	private InMemoryTaskRepository repository;
+	private TaskManagementServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		repository = new InMemoryTaskRepository();
+		AuditLog auditLog = AuditLog.synchronous(repository);
+		TaskDetailCache detailCache = new TaskDetailCache(64);
+		TaskChangeFeed changeFeed = TaskChangeFeed.synchronous(1_024, 64);
+		service = new TaskManagementServiceImpl(repository, Mappers.getMapper(ITaskManagementMapper.class),
+				auditLog, detailCache, changeFeed, 5);
+		DeadlineEscalator escalator = new DeadlineEscalator(repository, auditLog, changeFeed, false, 1_000, false);
+		new TaskMetrics(repository, detailCache, auditLog, service, changeFeed, escalator).bindTo(registry);
+	}
+
+	@Test
+	void gaugesAndCountersReadTheCurrentState() {
+		assertThat(registry.get("task.store.tasks").tag("tier", "hot").gauge().value()).isEqualTo(6.0);
+		assertThat(registry.get("task.store.index.keys").tag("index", "open-deadline").gauge()).isNotNull();
+		assertThat(registry.get("task.optimistic-lock.conflicts").functionCounter().count()).isZero();
+		assertThat(registry.get("task.audit.queue.pending").gauge().value()).isZero();
+		assertThat(registry.get("task.change-feed.subscribers").gauge().value()).isZero();
+		assertThat(registry.get("task.escalation.pending").gauge()).isNotNull();
+
+		service.findTaskById(1L);
+		service.findTaskById(1L);
+		assertThat(registry.get("task.detail-cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+		assertThat(registry.get("task.detail-cache.size").gauge().value()).isEqualTo(1.0);
+	}
+
+	@Test
+	void requestFacingServiceMethodsAreTimedAndMetricReadsAreNot() {
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(service);
+		proxyFactory.addAspect(new TimedAspect(registry));
+		TaskManagementService timed = proxyFactory.getProxy();
+
+		timed.findTaskById(1L);
+		timed.countTasks(1L);
+		timed.detailCacheStats();
+		service.optimisticLockConflicts();
+
+		assertThat(registry.get("task.service").tag("method", "findTaskById").timer().count()).isEqualTo(1L);
+		assertThat(registry.get("task.service").tag("method", "countTasks").timer().count()).isEqualTo(1L);
+		assertThat(registry.find("task.service").tag("method", "detailCacheStats").timer()).isNull();
+	}
+}
@@ -0,0 +1,39 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityTest {
+
+	@Test
+	void rendersTheSameSentencesAsBefore() {
+		long now = System.currentTimeMillis();
+		assertThat(Activity.of(now, "alice", ActivityType.TASK_CREATED, 7L).getActivity())
+				.isEqualTo("User alice created the task_id 7.");
+		assertThat(Activity.of(now, "alice", ActivityType.TASK_UPDATED, 7L).getActivity())
+				.isEqualTo("User alice updated the task_id 7.");
+		assertThat(Activity.of(now, "bob", ActivityType.PRIORITY_CHANGED, 9L, "HIGH").getActivity())
+				.isEqualTo("User bob changed the priority to HIGH of task_id 9.");
+	}
+
+	@Test
+	void serializesWithTheOriginalFieldsOnly() throws Exception {
+		long now = 1_700_000_000_123L;
+		Activity activity = Activity.of(now, "alice", ActivityType.TASK_CREATED, 7L);
+
+		JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(activity);
+
+		assertThat(json.fieldNames()).toIterable().containsExactly("localDateTime", "name", "activity");
+		assertThat(json.get("name").asText()).isEqualTo("alice");
+		assertThat(activity.getLocalDateTime())
+				.isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+	}
+}
@@ -0,0 +1,133 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.CommentOnTask;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppendOnlyLogTest {
+
+	private static final int WRITERS = 8;
+	private static final int APPENDS_PER_WRITER = 50_000;
+
+	@Test
+	void concurrentAppendsLoseNoEntries() throws Exception {
+		AppendOnlyLog<Long> log = new AppendOnlyLog<>();
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 2);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int w = 0; w < WRITERS; w++) {
+				long base = (long) w * APPENDS_PER_WRITER;
+				writers.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < APPENDS_PER_WRITER; i++) {
+						log.append(base + i);
+					}
+					return null;
+				}));
+			}
+			// Readers check every snapshot is a gap-free prefix that never shrinks.
+			List<Future<?>> readers = new ArrayList<>();
+			for (int r = 0; r < 2; r++) {
+				readers.add(pool.submit(() -> {
+					start.await();
+					int lastSize = 0;
+					while (writing.get()) {
+						List<Long> snapshot = log.snapshot();
+						assertThat(snapshot.size()).isGreaterThanOrEqualTo(lastSize);
+						for (Long entry : snapshot) {
+							assertThat(entry).isNotNull();
+						}
+						lastSize = snapshot.size();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+			writing.set(false);
+			for (Future<?> reader : readers) {
+				reader.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<Long> entries = log.snapshot();
+		assertThat(entries).hasSize(WRITERS * APPENDS_PER_WRITER);
+		assertThat(new HashSet<>(entries)).hasSize(WRITERS * APPENDS_PER_WRITER);
+	}
+
+	@Test
+	void appendsFromOneThreadKeepTheirOrder() {
+		AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(log.append(i)).isEqualTo(i);
+		}
+		List<Integer> entries = log.snapshot();
+		for (int i = 0; i < entries.size(); i++) {
+			assertThat(entries.get(i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	void repositoryKeepsEveryActivityAndCommentUnderConcurrentWrites() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		long taskId = 1L;
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		CountDownLatch start = new CountDownLatch(1);
+		int perWriter = 5_000;
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int w = 0; w < WRITERS; w++) {
+				String user = "user-" + w;
+				writers.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < perWriter; i++) {
+						repository.saveTask(new ActivityOnTask(taskId, Activity.of(System.currentTimeMillis(), user,
+								ActivityType.PRIORITY_CHANGED, taskId, user + " #" + i)));
+						repository.saveCommentByTaskId(new CommentOnTask(taskId,
+								new Comment(LocalDateTime.now(), user, user + " #" + i)));
+						if (i % 500 == 0) {
+							repository.findActivityByTaskId(taskId).forEach(activity -> assertThat(activity).isNotNull());
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		Set<String> activities = new HashSet<>();
+		repository.findActivityByTaskId(taskId).forEach(activity -> activities.add(activity.getActivity()));
+		Set<String> comments = new HashSet<>();
+		repository.findCommentsByTaskId(taskId).forEach(comment -> comments.add(comment.getComment()));
+		assertThat(activities).hasSize(WRITERS * perWriter);
+		assertThat(comments).hasSize(WRITERS * perWriter);
+	}
+}
@@ -0,0 +1,160 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdTaskStoreTest {
+
+	private static final int WRITERS = 8;
+	private static final int TASKS_PER_WRITER = 20_000;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void roundTripsEveryColumnIncludingNulls() {
+		ColdTaskStore store = new ColdTaskStore(directory);
+		TaskManagement full = task(7L, 3L).withId(1L).withVersion(4).withStatus(TaskStatus.COMPLETED)
+				.withDescription("Deliver to the back door \u2013 ring twice");
+		TaskManagement sparse = TaskManagement.builder().id(2L).version(1).status(TaskStatus.CANCELLED).build();
+		store.put(full);
+		store.put(sparse);
+
+		assertThat(store.get(1L)).isEqualTo(full);
+		assertThat(store.get(2L)).isEqualTo(sparse);
+		assertThat(store.get(3L)).isNull();
+	}
+
+	@Test
+	void keepsTheNewerVersion() {
+		ColdTaskStore store = new ColdTaskStore(directory);
+		TaskManagement newer = task(1L, 1L).withId(1L).withVersion(5).withStatus(TaskStatus.COMPLETED);
+		store.put(newer);
+		store.put(newer.withVersion(3).withAssigneeId(9L));
+
+		assertThat(store.get(1L)).isEqualTo(newer);
+		assertThat(store.size()).isEqualTo(1);
+	}
+
+	@Test
+	void closingATaskAgainReusesItsRow() {
+		ColdTaskStore store = new ColdTaskStore(directory);
+		TaskManagement task = task(1L, 1L).withId(1L).withStatus(TaskStatus.COMPLETED).withDescription("first close");
+		for (int version = 1; version <= 2 * ColdTaskStore.ROWS_PER_SEGMENT; version++) {
+			store.put(task.withVersion(version).withDescription(version % 2 == 0 ? "reopened" : "first close"));
+		}
+		TaskManagement longer = task.withVersion(Long.MAX_VALUE).withDescription("closed for good, with a longer note");
+		store.put(longer);
+
+		assertThat(store.get(1L)).isEqualTo(longer);
+		List<TaskManagement> rows = new ArrayList<>();
+		store.forEach(rows::add);
+		assertThat(rows).containsExactly(longer);
+		// Only the longer note needed a new slot, leaving the 11-byte one and its header behind
+		assertThat(store.garbageBytes()).isEqualTo(8L + 11L);
+	}
+
+	@Test
+	void readersNeverSeeAHalfRewrittenRow() throws Exception {
+		ColdTaskStore store = new ColdTaskStore(directory);
+		TaskManagement task = task(1L, 1L).withId(1L).withStatus(TaskStatus.COMPLETED);
+		store.put(task.withVersion(1).withAssigneeId(1L).withDescription("odd"));
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> readers = new ArrayList<>();
+			for (int r = 0; r < WRITERS - 1; r++) {
+				readers.add(pool.submit(() -> {
+					long seen = 0;
+					while (seen < TASKS_PER_WRITER) {
+						TaskManagement read = store.get(1L);
+						boolean odd = read.getVersion() % 2 == 1;
+						assertThat(read.getAssigneeId()).isEqualTo(odd ? 1L : 2L);
+						assertThat(read.getDescription()).isEqualTo(odd ? "odd" : "even, and longer");
+						assertThat(read.getVersion()).isGreaterThanOrEqualTo(seen);
+						seen = read.getVersion();
+					}
+					return null;
+				}));
+			}
+			for (int version = 2; version <= TASKS_PER_WRITER; version++) {
+				boolean odd = version % 2 == 1;
+				store.put(task.withVersion(version).withAssigneeId(odd ? 1L : 2L).withDescription(odd ? "odd" : "even, and longer"));
+				store.put(TaskManagement.builder().id(1_000L + version).version(1).description("filler " + version).build());
+			}
+			for (Future<?> reader : readers) {
+				reader.get(120, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(store.size()).isEqualTo(TASKS_PER_WRITER);
+		assertThat(store.get(1_000L + TASKS_PER_WRITER).getDescription()).isEqualTo("filler " + TASKS_PER_WRITER);
+	}
+
+	@Test
+	void repositoryReadsClosedTasksThroughTheColdTier() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), new ColdTaskStore(directory));
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int w = 0; w < WRITERS; w++) {
+				long assignee = w;
+				writers.add(pool.submit(() -> {
+					for (int i = 0; i < TASKS_PER_WRITER; i++) {
+						TaskManagement created = repository.save(task((long) i, assignee));
+						TaskManagement closed = repository.compareAndSave(created.withStatus(TaskStatus.COMPLETED)).orElseThrow();
+						assertThat(repository.findById(created.getId())).contains(closed);
+						if (i % 10 == 0) {
+							// Reopening pulls the task back into the hot tier.
+							TaskManagement reopened = repository.compareAndSave(closed.withStatus(TaskStatus.ASSIGNED)).orElseThrow();
+							assertThat(reopened.getVersion()).isEqualTo(3);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(120, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<TaskManagement> tasks = repository.findAll(null, Integer.MAX_VALUE);
+		assertThat(tasks).hasSize(WRITERS * TASKS_PER_WRITER);
+		assertThat(tasks).filteredOn(task -> task.getStatus() == TaskStatus.ASSIGNED)
+				.hasSize(WRITERS * TASKS_PER_WRITER / 10);
+		assertThat(repository.findByAssigneeIdIn(List.of(0L))).hasSize(TASKS_PER_WRITER);
+		assertThat(repository.findByPriority(Priority.MEDIUM, null, Integer.MAX_VALUE)).hasSize(WRITERS * TASKS_PER_WRITER);
+		assertThat(repository.captureState().tasks()).hasSize(WRITERS * TASKS_PER_WRITER);
+	}
+
+
+	private static TaskManagement task(Long referenceId, Long assigneeId) {
+		return TaskManagement.builder()
+				.referenceId(referenceId)
+				.referenceType(ReferenceType.ENTITY)
+				.task(Task.COLLECT_PAYMENT)
+				.assigneeId(assigneeId)
+				.status(TaskStatus.ASSIGNED)
+				.priority(Priority.MEDIUM)
+				.description("cold " + referenceId)
+				.taskDeadlineTime(5_000L + referenceId)
+				.build();
+	}
+}
@@ -0,0 +1,239 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.CommentOnTask;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DurableTaskRepositoryTest {
+
+	private static final int WRITERS = 4;
+	private static final int TASKS_PER_WRITER = 500;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void freshStoreIsSeededAndSnapshotted() throws Exception {
+		DurableTaskRepository repository = open();
+		try {
+			assertThat(repository.findAll(null, 100)).hasSize(6);
+			assertThat(snapshotFiles()).hasSize(1);
+		} finally {
+			repository.close();
+		}
+	}
+
+	@Test
+	void crashRecoveryReplaysTheLog() throws Exception {
+		DurableTaskRepository before = open();
+		writeConcurrently(before);
+
+		// No close(): the new instance only sees what the log made durable.
+		DurableTaskRepository after = open();
+		try {
+			assertSameState(before, after);
+		} finally {
+			after.close();
+		}
+	}
+
+	@Test
+	void restartAfterCheckpointsRestoresSnapshotPlusLog() throws Exception {
+		DurableTaskRepository before = open();
+		ExecutorService checkpoints = Executors.newSingleThreadExecutor();
+		Future<?> checkpointing = checkpoints.submit(() -> {
+			for (int i = 0; i < 5; i++) {
+				before.checkpoint();
+			}
+			return null;
+		});
+		writeConcurrently(before);
+		checkpointing.get(60, TimeUnit.SECONDS);
+		checkpoints.shutdown();
+		TaskManagement last = before.save(task(99L, 9L));
+		before.close();
+
+		DurableTaskRepository after = open();
+		try {
+			assertSameState(before, after);
+			assertThat(after.findById(last.getId())).contains(last);
+			assertThat(after.save(task(100L, 9L)).getId()).isEqualTo(last.getId() + 1);
+		} finally {
+			after.close();
+		}
+	}
+
+	@Test
+	void tornTailIsIgnored() throws Exception {
+		DurableTaskRepository before = open();
+		TaskManagement saved = before.save(task(1L, 1L));
+		// A record header promising more bytes than were written, as after a crash mid-write.
+		List<Path> segments = WriteAheadLog.segments(directory);
+		Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+		DurableTaskRepository after = open();
+		try {
+			assertThat(after.findById(saved.getId())).contains(saved);
+		} finally {
+			after.close();
+		}
+	}
+
+
+	@Test
+	void replayStopsAtAGapInsteadOfApplyingLaterSegments() throws Exception {
+		DurableTaskRepository before = open();
+		TaskManagement saved = before.save(task(1L, 1L));
+		List<Path> segments = WriteAheadLog.segments(directory);
+		Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+		// A later segment whose writes came after the gap
+		TaskManagement afterGap = task(2L, 2L).toBuilder().id(500L).version(1L).build();
+		try (WriteAheadLog later = new WriteAheadLog(directory, WriteAheadLog.lastSegmentIndex(directory) + 1, false, Thread::new)) {
+			later.awaitDurable(later.append(TaskRecordCodec.TASK, TaskRecordCodec.taskRecord(afterGap)));
+		}
+
+		DurableTaskRepository after = open();
+		try {
+			assertThat(after.findById(saved.getId())).contains(saved);
+			assertThat(after.findById(afterGap.getId())).isEmpty();
+		} finally {
+			after.close();
+		}
+	}
+
+	@Test
+	void writesAfterATornTailSurviveTheNextRestart() throws Exception {
+		DurableTaskRepository first = open();
+		first.save(task(1L, 1L));
+		List<Path> segments = WriteAheadLog.segments(directory);
+		Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+		// Restarted after the crash, then crashes again
+		DurableTaskRepository second = open();
+		TaskManagement saved = second.save(task(2L, 2L));
+
+		DurableTaskRepository third = open();
+		try {
+			assertThat(third.findById(saved.getId())).contains(saved);
+		} finally {
+			third.close();
+		}
+	}
+
+	@Test
+	void concurrentHistoryOfOneTaskKeepsItsOrderAcrossARestart() throws Exception {
+		DurableTaskRepository before = open();
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int w = 0; w < WRITERS; w++) {
+				String user = "user" + w;
+				writers.add(pool.submit(() -> {
+					for (int i = 0; i < TASKS_PER_WRITER; i++) {
+						before.saveTask(new ActivityOnTask(1L, Activity.of(i, user, ActivityType.TASK_UPDATED, 1L)));
+						before.saveCommentByTaskId(new CommentOnTask(1L, new Comment(LocalDateTime.now(), user, "note " + i)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		DurableTaskRepository after = open();
+		try {
+			assertThat(after.findActivityByTaskId(1L)).isEqualTo(before.findActivityByTaskId(1L));
+			assertThat(after.findCommentsByTaskId(1L)).isEqualTo(before.findCommentsByTaskId(1L));
+		} finally {
+			after.close();
+		}
+	}
+
+
+	private DurableTaskRepository open() throws Exception {
+		return new DurableTaskRepository(directory.toString(), false, 300, 1L << 30, "primitive", false, null, false);
+	}
+
+	private void writeConcurrently(DurableTaskRepository repository) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int w = 0; w < WRITERS; w++) {
+				long assignee = w;
+				writers.add(pool.submit(() -> {
+					for (int i = 0; i < TASKS_PER_WRITER; i++) {
+						TaskManagement task = repository.save(task((long) i, assignee));
+						repository.compareAndSave(task.withStatus(TaskStatus.COMPLETED));
+						repository.saveTask(new ActivityOnTask(task.getId(),
+								Activity.of(System.currentTimeMillis(), "user", ActivityType.TASK_CREATED, task.getId())));
+						repository.saveCommentByTaskId(new CommentOnTask(task.getId(), new Comment(LocalDateTime.now(), "user", "note " + i)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void assertSameState(TaskRepository expected, TaskRepository actual) {
+		List<TaskManagement> tasks = expected.findAll(null, Integer.MAX_VALUE);
+		assertThat(actual.findAll(null, Integer.MAX_VALUE)).isEqualTo(tasks);
+		for (TaskManagement task : tasks) {
+			assertThat(actual.findActivityByTaskId(task.getId())).isEqualTo(expected.findActivityByTaskId(task.getId()));
+			assertThat(actual.findCommentsByTaskId(task.getId())).isEqualTo(expected.findCommentsByTaskId(task.getId()));
+		}
+		List<Long> assignees = List.of(0L, 1L, 2L, 3L);
+		assertThat(actual.findByAssigneeIdIn(assignees)).isEqualTo(expected.findByAssigneeIdIn(assignees));
+		assertThat(actual.findByPriority(Priority.LOW, null, Integer.MAX_VALUE))
+				.isEqualTo(expected.findByPriority(Priority.LOW, null, Integer.MAX_VALUE));
+	}
+
+	private static TaskManagement task(Long referenceId, Long assigneeId) {
+		return TaskManagement.builder()
+				.referenceId(referenceId)
+				.referenceType(ReferenceType.ORDER)
+				.task(Task.CREATE_INVOICE)
+				.assigneeId(assigneeId)
+				.status(TaskStatus.ASSIGNED)
+				.priority(Priority.LOW)
+				.description("durable")
+				.taskDeadlineTime(1_000L + referenceId)
+				.build();
+	}
+
+	private List<Path> snapshotFiles() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.getFileName().toString().endsWith(".bin")).toList();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPagingTest {
+
+	private static final long DEADLINE = 5_000L;
+
+	private InMemoryTaskRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), null);
+		// Ids 1..6, alternating between two assignees, all due at the same time
+		for (int i = 0; i < 6; i++) {
+			repository.save(task(i % 2 == 0 ? 7L : 8L, DEADLINE));
+		}
+	}
+
+	@Test
+	void findAllStopsAfterTheLastTask() {
+		assertThat(repository.findAll(null, 4)).extracting(TaskManagement::getId).containsExactly(1L, 2L, 3L, 4L);
+		assertThat(repository.findAll(5L, 4)).extracting(TaskManagement::getId).containsExactly(6L);
+		assertThat(repository.findAll(6L, 4)).isEmpty();
+	}
+
+	@Test
+	void aPriorityCursorAtTheLastTaskGivesAnEmptyPage() {
+		assertThat(repository.findByPriority(Priority.MEDIUM, 5L, 10)).extracting(TaskManagement::getId).containsExactly(6L);
+		assertThat(repository.findByPriority(Priority.MEDIUM, 6L, 10)).isEmpty();
+	}
+
+	@Test
+	void equalDeadlinesArePagedInIdOrderAcrossAssignees() {
+		List<Long> paged = new ArrayList<>();
+		DeadlineCursor after = null;
+		List<TaskManagement> page;
+		do {
+			page = repository.findOpenByAssigneeIdInAndDeadlineBetween(List.of(8L, 7L), Long.MIN_VALUE, Long.MAX_VALUE, after, 4);
+			List<TaskManagement> shown = page.subList(0, Math.min(page.size(), 3));
+			shown.forEach(task -> paged.add(task.getId()));
+			if (!shown.isEmpty()) {
+				TaskManagement last = shown.get(shown.size() - 1);
+				after = new DeadlineCursor(last.getTaskDeadlineTime(), last.getId());
+			}
+		} while (page.size() > 3);
+
+		assertThat(paged).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+	}
+
+	@Test
+	void equalDeadlinesOfOneAssigneeResumeAfterTheCursorId() {
+		assertThat(repository.findOpenByAssigneeIdInAndDeadlineBetween(List.of(7L), Long.MIN_VALUE, Long.MAX_VALUE,
+				new DeadlineCursor(DEADLINE, 3L), 10)).extracting(TaskManagement::getId).containsExactly(5L);
+		assertThat(repository.findOpenByAssigneeId(8L, new DeadlineCursor(DEADLINE, 2L), 10))
+				.extracting(TaskManagement::getId).containsExactly(4L, 6L);
+		assertThat(repository.findOpenByAssigneeId(8L, new DeadlineCursor(DEADLINE, 6L), 10)).isEmpty();
+	}
+
+	@Test
+	void deadlineCursorsRoundTripAndRejectMalformedInput() {
+		DeadlineCursor cursor = new DeadlineCursor(-5L, 42L);
+		assertThat(DeadlineCursor.parse(cursor.encode())).isEqualTo(cursor);
+
+		for (String malformed : List.of("", "12", "12_", "_12", "a_1", "1_b", "1-2")) {
+			assertThatThrownBy(() -> DeadlineCursor.parse(malformed)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+
+	private static TaskManagement task(Long assigneeId, long deadline) {
+		return TaskManagement.builder()
+				.referenceId(300L)
+				.referenceType(ReferenceType.ORDER)
+				.task(Task.CREATE_INVOICE)
+				.assigneeId(assigneeId)
+				.status(TaskStatus.ASSIGNED)
+				.priority(Priority.MEDIUM)
+				.taskDeadlineTime(deadline)
+				.build();
+	}
+}
@@ -0,0 +1,121 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenTaskViewTest {
+
+	private static final int TASKS = 2_000;
+	private static final int THREADS = 8;
+	private static final int UPDATES_PER_THREAD = 20_000;
+	private static final long ASSIGNEES = 5;
+
+	@Test
+	void followsCreationReassignmentStatusAndDeadlineChanges() {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), null);
+		TaskManagement first = repository.save(task(0, 7L, 300L));
+		TaskManagement second = repository.save(task(1, 7L, 100L));
+		assertThat(ids(repository.findOpenByAssigneeId(7L, null, 10))).containsExactly(second.getId(), first.getId());
+
+		repository.save(second.withAssigneeId(8L));
+		assertThat(ids(repository.findOpenByAssigneeId(7L, null, 10))).containsExactly(first.getId());
+		assertThat(ids(repository.findOpenByAssigneeId(8L, null, 10))).containsExactly(second.getId());
+
+		TaskManagement moved = repository.save(first.withTaskDeadlineTime(50L).withDescription("moved"));
+		assertThat(repository.findOpenByAssigneeId(7L, null, 10)).containsExactly(moved);
+
+		repository.save(moved.withStatus(TaskStatus.COMPLETED));
+		assertThat(repository.findOpenByAssigneeId(7L, null, 10)).isEmpty();
+	}
+
+	@Test
+	void matchesARecountAfterConcurrentUpdates() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), null);
+		List<TaskManagement> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(task(i, i % ASSIGNEES, 1_000L + i % 97));
+		}
+		repository.saveAll(tasks);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				writers.add(pool.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+						long id = random.nextLong(1, TASKS + 1);
+						TaskManagement current = repository.findById(id).orElseThrow();
+						repository.compareAndSave(current
+								.withStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)])
+								.withTaskDeadlineTime(random.nextLong(1_000, 1_100))
+								.withAssigneeId(random.nextLong(ASSIGNEES)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<TaskManagement> stored = repository.findAll(null, Integer.MAX_VALUE);
+		for (long assignee = 0; assignee < ASSIGNEES; assignee++) {
+			long assigneeId = assignee;
+			List<TaskManagement> expected = stored.stream()
+					.filter(task -> task.getAssigneeId() == assigneeId && !task.getStatus().isClosed())
+					.sorted(Comparator.comparing(TaskManagement::getTaskDeadlineTime).thenComparing(TaskManagement::getId))
+					.toList();
+			assertThat(pages(repository, assigneeId, 37)).isEqualTo(expected);
+		}
+	}
+
+
+	private static List<TaskManagement> pages(TaskRepository repository, Long assigneeId, int limit) {
+		List<TaskManagement> all = new ArrayList<>();
+		DeadlineCursor after = null;
+		List<TaskManagement> page;
+		do {
+			page = repository.findOpenByAssigneeId(assigneeId, after, limit);
+			all.addAll(page);
+			if (!page.isEmpty()) {
+				TaskManagement last = page.get(page.size() - 1);
+				after = new DeadlineCursor(last.getTaskDeadlineTime(), last.getId());
+			}
+		} while (page.size() == limit);
+		return all;
+	}
+
+	private static List<Long> ids(List<TaskManagement> tasks) {
+		return tasks.stream().map(TaskManagement::getId).toList();
+	}
+
+	private static TaskManagement task(long referenceId, long assigneeId, long deadline) {
+		return TaskManagement.builder()
+				.referenceId(referenceId)
+				.referenceType(ReferenceType.ORDER)
+				.task(Task.CREATE_INVOICE)
+				.assigneeId(assigneeId)
+				.status(TaskStatus.ASSIGNED)
+				.priority(Priority.LOW)
+				.taskDeadlineTime(deadline)
+				.build();
+	}
+}
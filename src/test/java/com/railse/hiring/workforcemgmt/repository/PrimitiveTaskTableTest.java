@@ -0,0 +1,132 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitiveTaskTableTest {
+
+	@Test
+	void matchesAHashMapUnderRandomOperations() {
+		PrimitiveTaskTable table = new PrimitiveTaskTable();
+		Map<Long, TaskManagement> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 200_000; i++) {
+			long id = random.nextInt(5_000) - 100;
+			TaskManagement task = TaskManagement.builder().id(id).version(i).build();
+			switch (random.nextInt(3)) {
+				case 0 -> {
+					table.compute(id, (key, current) -> task);
+					expected.put(id, task);
+				}
+				case 1 -> {
+					table.compute(id, (key, current) -> null);
+					expected.remove(id);
+				}
+				default -> {
+					TaskManagement current = expected.get(id);
+					if (current != null) {
+						assertThat(table.remove(id, current.getVersion() + 1)).isFalse();
+						assertThat(table.remove(id, current.getVersion())).isTrue();
+						expected.remove(id);
+					} else {
+						assertThat(table.remove(id, task.getVersion())).isFalse();
+					}
+				}
+			}
+			assertThat(table.get(id)).isEqualTo(expected.get(id));
+		}
+		for (long id = -100; id < 5_000; id++) {
+			assertThat(table.get(id)).isEqualTo(expected.get(id));
+		}
+		List<TaskManagement> all = new ArrayList<>();
+		table.forEach(all::add);
+		assertThat(all).containsExactlyInAnyOrderElementsOf(expected.values());
+		assertThat(table.size()).isEqualTo(expected.size());
+	}
+
+	@Test
+	void aRowReadsBackWithEveryColumn() {
+		PrimitiveTaskTable table = new PrimitiveTaskTable();
+		TaskManagement full = TaskManagement.builder()
+				.id(7L)
+				.referenceId(70L)
+				.referenceType(ReferenceType.ORDER)
+				.task(Task.CREATE_INVOICE)
+				.description("Invoice order 70")
+				.status(TaskStatus.ASSIGNED)
+				.assigneeId(3L)
+				.taskDeadlineTime(1_700_000_000_000L)
+				.priority(Priority.HIGH)
+				.version(4)
+				.build();
+		TaskManagement empty = TaskManagement.builder().id(8L).build();
+		table.compute(7L, (key, current) -> full);
+		table.compute(8L, (key, current) -> empty);
+
+		assertThat(table.get(7L)).isEqualTo(full);
+		assertThat(table.get(8L)).isEqualTo(empty);
+		assertThat(table.get(9L)).isNull();
+	}
+
+	@Test
+	void aStaleVersionDoesNotRemoveTheNewerRow() {
+		PrimitiveTaskTable table = new PrimitiveTaskTable();
+		TaskManagement first = TaskManagement.builder().id(1L).status(TaskStatus.COMPLETED).version(1).build();
+		table.compute(1L, (key, current) -> first);
+		table.compute(1L, (key, current) -> current.withStatus(TaskStatus.ASSIGNED).withVersion(2));
+
+		assertThat(table.remove(1L, first.getVersion())).isFalse();
+		assertThat(table.get(1L).getVersion()).isEqualTo(2L);
+		assertThat(table.remove(1L, 2)).isTrue();
+		assertThat(table.get(1L)).isNull();
+	}
+
+	@Test
+	void concurrentIncrementsAreNotLost() throws Exception {
+		PrimitiveTaskTable table = new PrimitiveTaskTable();
+		int threads = 8;
+		int ids = 10_000;
+		int rounds = 20;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				workers.add(pool.submit(() -> {
+					for (int round = 0; round < rounds; round++) {
+						for (long id = 1; id <= ids; id++) {
+							table.compute(id, (key, current) -> current == null
+									? TaskManagement.builder().id(key).version(1).build()
+									: current.withVersion(current.getVersion() + 1));
+							assertThat(table.get(id)).isNotNull();
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		for (long id = 1; id <= ids; id++) {
+			assertThat(table.get(id).getVersion()).isEqualTo((long) threads * rounds);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskAggregatesTest {
+
+	private static final int TASKS = 2_000;
+	private static final int THREADS = 8;
+	private static final int UPDATES_PER_THREAD = 20_000;
+	private static final long ASSIGNEES = 5;
+
+	@Test
+	void countersMatchARecountAfterConcurrentUpdates() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), null);
+		List<TaskManagement> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(TaskManagement.builder()
+					.referenceId((long) i)
+					.referenceType(ReferenceType.ORDER)
+					.task(Task.CREATE_INVOICE)
+					.assigneeId(i % ASSIGNEES)
+					.status(TaskStatus.ASSIGNED)
+					.priority(Priority.LOW)
+					.build());
+		}
+		repository.saveAll(tasks);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				writers.add(pool.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+						long id = random.nextLong(1, TASKS + 1);
+						TaskManagement current = repository.findById(id).orElseThrow();
+						repository.compareAndSave(current
+								.withStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)])
+								.withPriority(Priority.values()[random.nextInt(Priority.values().length)])
+								.withAssigneeId(random.nextLong(ASSIGNEES)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<TaskManagement> stored = repository.findAll(null, Integer.MAX_VALUE);
+		assertThat(repository.countByPriorityAndStatus(null)).isEqualTo(recount(stored, null));
+		for (long assignee = 0; assignee < ASSIGNEES; assignee++) {
+			assertThat(repository.countByPriorityAndStatus(assignee)).isEqualTo(recount(stored, assignee));
+		}
+		assertThat(repository.countByPriorityAndStatus(99L).get(Priority.HIGH).get(TaskStatus.ASSIGNED)).isZero();
+	}
+
+
+	private static Map<Priority, Map<TaskStatus, Long>> recount(List<TaskManagement> tasks, Long assigneeId) {
+		Map<Priority, Map<TaskStatus, Long>> counts = new EnumMap<>(Priority.class);
+		for (Priority priority : Priority.values()) {
+			Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+			for (TaskStatus status : TaskStatus.values()) {
+				byStatus.put(status, 0L);
+			}
+			counts.put(priority, byStatus);
+		}
+		for (TaskManagement task : tasks) {
+			if (assigneeId == null || assigneeId.equals(task.getAssigneeId())) {
+				counts.get(task.getPriority()).merge(task.getStatus(), 1L, Long::sum);
+			}
+		}
+		return counts;
+	}
+}
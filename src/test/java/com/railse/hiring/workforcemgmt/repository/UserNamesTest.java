@@ -0,0 +1,40 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.CommentOnTask;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserNamesTest {
+
+	@Test
+	void historyEntriesOfOneUserShareTheirName() {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository(false, new PrimitiveTaskTable(), null);
+		repository.saveTask(new ActivityOnTask(1L, Activity.of(1L, new String("carol"), ActivityType.TASK_CREATED, 1L)));
+		repository.saveTask(new ActivityOnTask(2L, Activity.of(2L, new String("carol"), ActivityType.TASK_UPDATED, 2L)));
+		repository.saveCommentByTaskId(new CommentOnTask(1L, new Comment(LocalDateTime.now(), new String("carol"), "note")));
+
+		String name = repository.findActivityByTaskId(1L).get(0).getName();
+		assertThat(repository.findActivityByTaskId(2L).get(0).getName()).isSameAs(name);
+		assertThat(repository.findCommentsByTaskId(1L).get(0).getName()).isSameAs(name);
+	}
+
+	@Test
+	void stopsGrowingAtCapacity() {
+		UserNames names = new UserNames(2);
+		names.canonical("alice");
+		names.canonical("bob");
+		String mallory = new String("mallory");
+
+		assertThat(names.canonical(mallory)).isSameAs(mallory);
+		assertThat(names.canonical(new String("mallory"))).isNotSameAs(mallory);
+		assertThat(names.size()).isEqualTo(2);
+		assertThat(names.canonical(new String("alice"))).isEqualTo("alice");
+	}
+}
@@ -0,0 +1,101 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssignByReferenceConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int CALLS_PER_THREAD = 200;
+
+	@Test
+	void concurrentAssignmentsOfOneReferenceKeepOneTaskPerType() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		TaskManagementServiceImpl service = new TaskManagementServiceImpl(repository,
+				Mappers.getMapper(ITaskManagementMapper.class), AuditLog.synchronous(repository), new TaskDetailCache(0),
+				TaskChangeFeed.synchronous(1_024, 64), 5);
+		long referenceId = 5_000L;
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> callers = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				long assigneeId = t + 1;
+				callers.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < CALLS_PER_THREAD; i++) {
+						service.assignByReference(request(referenceId, assigneeId));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> caller : callers) {
+				caller.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<TaskManagement> tasks = repository.findByReferenceIdAndReferenceType(referenceId, ReferenceType.ORDER);
+		List<Task> orderTasks = Task.getTasksByReferenceType(ReferenceType.ORDER);
+		assertThat(tasks).hasSize(orderTasks.size());
+		assertThat(tasks).extracting(TaskManagement::getTask).containsExactlyInAnyOrderElementsOf(orderTasks);
+		assertThat(tasks).allMatch(task -> task.getStatus() == TaskStatus.ASSIGNED);
+		assertThat(tasks).extracting(TaskManagement::getAssigneeId).containsOnly(tasks.get(0).getAssigneeId());
+	}
+
+	@Test
+	void aTaskCompletedAfterTheReferenceWasReadStaysCompleted() {
+		// Completes the open CREATE_INVOICE task of the reference right after assignByReference has read it
+		InMemoryTaskRepository repository = new InMemoryTaskRepository() {
+			@Override
+			public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+				List<TaskManagement> tasks = super.findByReferenceIdAndReferenceType(referenceId, referenceType);
+				for (TaskManagement task : tasks) {
+					if (task.getTask() == Task.CREATE_INVOICE && task.getStatus() == TaskStatus.ASSIGNED) {
+						compareAndSave(task.withStatus(TaskStatus.COMPLETED));
+					}
+				}
+				return tasks;
+			}
+		};
+		TaskManagementServiceImpl service = new TaskManagementServiceImpl(repository,
+				Mappers.getMapper(ITaskManagementMapper.class), AuditLog.synchronous(repository), new TaskDetailCache(0),
+				TaskChangeFeed.synchronous(1_024, 64), 5);
+
+		service.assignByReference(request(101L, 9L));
+
+		TaskManagement invoice = repository.findById(1L).orElseThrow();
+		assertThat(invoice.getTask()).isEqualTo(Task.CREATE_INVOICE);
+		assertThat(invoice.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+		assertThat(invoice.getAssigneeId()).isEqualTo(1L);
+	}
+
+	static AssignByReferenceRequest request(long referenceId, long assigneeId) {
+		AssignByReferenceRequest request = new AssignByReferenceRequest();
+		request.setUserName("dispatcher");
+		request.setReferenceId(referenceId);
+		request.setReferenceType(ReferenceType.ORDER);
+		request.setAssigneeId(assigneeId);
+		return request;
+	}
+}
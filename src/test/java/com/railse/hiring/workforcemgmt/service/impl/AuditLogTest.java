@@ -0,0 +1,137 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+	private static final int PUBLISHERS = 8;
+	private static final int ACTIVITIES_PER_PUBLISHER = 10_000;
+
+	@Test
+	void everyActivityLandsInOrderPerTask() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		AuditLog auditLog = new AuditLog(repository, true, 1_024, 256, AuditLog.Overflow.BLOCK, true, 5_000, false);
+		ExecutorService pool = Executors.newFixedThreadPool(PUBLISHERS);
+		try {
+			List<Future<?>> publishers = new ArrayList<>();
+			for (int p = 0; p < PUBLISHERS; p++) {
+				long taskId = 1_000L + p;
+				publishers.add(pool.submit(() -> {
+					for (int i = 0; i < ACTIVITIES_PER_PUBLISHER; i++) {
+						auditLog.record(List.of(activity(taskId, i)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> publisher : publishers) {
+				publisher.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		auditLog.flush();
+
+		for (int p = 0; p < PUBLISHERS; p++) {
+			List<Activity> history = repository.findActivityByTaskId(1_000L + p);
+			assertThat(history).hasSize(ACTIVITIES_PER_PUBLISHER);
+			for (int i = 0; i < history.size(); i++) {
+				assertThat(history.get(i).getArgument()).isEqualTo(String.valueOf(i));
+			}
+		}
+		auditLog.close();
+	}
+
+	@Test
+	void dropPolicyNeverWaitsAndCountsWhatItDiscards() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		AuditLog auditLog = new AuditLog(repository, true, 4, 4, AuditLog.Overflow.DROP, true, 5_000, false);
+		int total = 50_000;
+		for (int i = 0; i < total; i++) {
+			auditLog.record(List.of(activity(7L, i)));
+		}
+		auditLog.flush();
+
+		assertThat(repository.countActivityByTaskId(7L) + auditLog.droppedCount()).isEqualTo(total);
+		auditLog.close();
+	}
+
+	@Test
+	void queuedActivitiesAreWrittenOnShutdown() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		AuditLog auditLog = new AuditLog(repository, true, 100_000, 16, AuditLog.Overflow.BLOCK, true, 30_000, false);
+		for (int i = 0; i < 20_000; i++) {
+			auditLog.record(List.of(activity(9L, i)));
+		}
+		auditLog.close();
+
+		assertThat(repository.countActivityByTaskId(9L)).isEqualTo(20_000);
+		// After close the log writes straight through.
+		auditLog.record(List.of(activity(9L, 20_000)));
+		assertThat(repository.countActivityByTaskId(9L)).isEqualTo(20_001);
+	}
+
+	@Test
+	void activitiesRecordedWhileClosingAreNotLeftInTheQueue() throws Exception {
+		for (int round = 0; round < 20; round++) {
+			InMemoryTaskRepository repository = new InMemoryTaskRepository();
+			AuditLog auditLog = new AuditLog(repository, true, 1_024, 16, AuditLog.Overflow.BLOCK, true, 30_000, false);
+			ExecutorService pool = Executors.newFixedThreadPool(PUBLISHERS);
+			try {
+				List<Future<?>> publishers = new ArrayList<>();
+				for (int p = 0; p < PUBLISHERS; p++) {
+					long taskId = 2_000L + p;
+					publishers.add(pool.submit(() -> {
+						for (int i = 0; i < 2_000; i++) {
+							auditLog.record(List.of(activity(taskId, i)));
+						}
+						return null;
+					}));
+				}
+				auditLog.close();
+				for (Future<?> publisher : publishers) {
+					publisher.get(60, TimeUnit.SECONDS);
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+
+			assertThat(auditLog.pending()).isZero();
+			for (int p = 0; p < PUBLISHERS; p++) {
+				assertThat(repository.countActivityByTaskId(2_000L + p)).isEqualTo(2_000);
+			}
+		}
+	}
+
+	@Test
+	void whatIsNotDrainedOnShutdownIsTakenOffTheQueue() throws Exception {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		AuditLog auditLog = new AuditLog(repository, true, 100_000, 16, AuditLog.Overflow.BLOCK, false, 1, false);
+		for (int i = 0; i < 20_000; i++) {
+			auditLog.record(List.of(activity(9L, i)));
+		}
+		auditLog.close();
+
+		assertThat(auditLog.pending()).isZero();
+		assertThat(repository.countActivityByTaskId(9L)).isLessThanOrEqualTo(20_000);
+		auditLog.flush();
+	}
+
+
+	private static ActivityOnTask activity(long taskId, int sequence) {
+		return new ActivityOnTask(taskId, Activity.of(System.currentTimeMillis(), "auditor",
+				ActivityType.PRIORITY_CHANGED, taskId, String.valueOf(sequence)));
+	}
+}
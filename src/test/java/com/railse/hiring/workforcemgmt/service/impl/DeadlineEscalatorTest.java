@@ -0,0 +1,112 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineEscalatorTest {
+
+	private static final long TICK = 1_000L;
+
+	private InMemoryTaskRepository repository;
+	private TaskChangeFeed changeFeed;
+	private DeadlineEscalator escalator;
+	private long now;
+
+	@BeforeEach
+	void setUp() {
+		repository = new InMemoryTaskRepository();
+		changeFeed = TaskChangeFeed.synchronous(1_024, 64);
+		now = System.currentTimeMillis();
+		escalator = DeadlineEscalator.manual(repository, AuditLog.synchronous(repository), changeFeed, TICK, now);
+	}
+
+	@Test
+	void anOverdueTaskIsEscalatedOnceWithAnActivity() {
+		TaskManagement task = create(Priority.LOW, now + 5_000);
+
+		assertThat(escalator.escalateDue(now + 4_000)).isZero();
+		assertThat(escalator.escalateDue(now + 6_000)).isEqualTo(1);
+		assertThat(escalator.escalateDue(now + 60_000)).isZero();
+
+		assertThat(repository.findById(task.getId()).get().getPriority()).isEqualTo(Priority.MEDIUM);
+		List<Activity> history = repository.findActivityByTaskId(task.getId());
+		assertThat(history).hasSize(1);
+		assertThat(history.get(0).getType()).isEqualTo(ActivityType.DEADLINE_ESCALATED);
+		assertThat(history.get(0).getArgument()).isEqualTo("MEDIUM");
+	}
+
+	@Test
+	void movingTheDeadlineReschedulesAndClosingCancels() {
+		TaskManagement moved = create(Priority.MEDIUM, now + 5_000);
+		TaskManagement closed = create(Priority.MEDIUM, now + 5_000);
+		update(moved, moved.withTaskDeadlineTime(now + 20_000));
+		update(closed, closed.withStatus(TaskStatus.COMPLETED));
+
+		assertThat(escalator.escalateDue(now + 10_000)).isZero();
+		assertThat(escalator.escalateDue(now + 21_000)).isEqualTo(1);
+
+		assertThat(repository.findById(moved.getId()).get().getPriority()).isEqualTo(Priority.HIGH);
+		assertThat(repository.findById(closed.getId()).get().getPriority()).isEqualTo(Priority.MEDIUM);
+		assertThat(escalator.escalatedCount()).isEqualTo(1L);
+		assertThat(escalator.pendingDeadlines()).isEqualTo(4L); // the open seed tasks, due tomorrow
+	}
+
+	@Test
+	void anAlreadyEscalatedDeadlineIsNotEscalatedAgainAfterARestart() {
+		TaskManagement task = create(Priority.LOW, now + 5_000);
+		escalator.escalateDue(now + 6_000);
+
+		DeadlineEscalator restarted = DeadlineEscalator.manual(repository, AuditLog.synchronous(repository),
+				TaskChangeFeed.synchronous(1_024, 64), TICK, now + 6_000);
+		// A stale entry for the same deadline still comes due
+		update(task, repository.findById(task.getId()).get().withDescription("touched"));
+
+		assertThat(restarted.escalateDue(now + 30_000)).isZero();
+		assertThat(repository.findById(task.getId()).get().getPriority()).isEqualTo(Priority.MEDIUM);
+	}
+
+	@Test
+	void aDuplicateEntryDoesNotEscalateTwiceBeforeTheActivityIsWritten() {
+		// Activities go to another store, as if the audit writer had not reached them yet
+		DeadlineEscalator escalator = DeadlineEscalator.manual(repository, AuditLog.synchronous(new InMemoryTaskRepository()),
+				changeFeed, TICK, now);
+		TaskManagement task = create(Priority.LOW, now + 5_000);
+		changeFeed.publish(TaskChangeFeed.Kind.CREATED, task, null);
+
+		assertThat(escalator.escalateDue(now + 6_000)).isEqualTo(1);
+		assertThat(escalator.escalateDue(now + 60_000)).isZero();
+		assertThat(repository.findById(task.getId()).get().getPriority()).isEqualTo(Priority.MEDIUM);
+	}
+
+
+	private TaskManagement create(Priority priority, long deadline) {
+		TaskManagement task = repository.save(TaskManagement.builder()
+				.referenceId(500L)
+				.referenceType(ReferenceType.ORDER)
+				.task(Task.CREATE_INVOICE)
+				.assigneeId(7L)
+				.status(TaskStatus.ASSIGNED)
+				.priority(priority)
+				.taskDeadlineTime(deadline)
+				.build());
+		changeFeed.publish(TaskChangeFeed.Kind.CREATED, task, null);
+		return task;
+	}
+
+	private void update(TaskManagement current, TaskManagement updated) {
+		TaskManagement saved = repository.compareAndSave(updated).orElseThrow();
+		changeFeed.publish(TaskChangeFeed.Kind.UPDATED, saved, current);
+	}
+}
@@ -0,0 +1,112 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineWheelTest {
+
+	private static final long TICK = 1_000L;
+	private static final long START = 1_700_000_000_123L;
+
+	@Test
+	void everyEntryComesDueOnceAndNeverBeforeItsDeadline() {
+		DeadlineWheel wheel = new DeadlineWheel(TICK, START);
+		Random random = new Random(42);
+		Map<Long, Long> deadlines = new HashMap<>();
+		for (long id = 1; id <= 20_000; id++) {
+			// Up to ~10 days ahead: spreads entries over the first three levels
+			long deadline = START + (long) (random.nextDouble() * Math.pow(10, 1 + random.nextInt(8)));
+			deadlines.put(id, deadline);
+			wheel.add(id, deadline);
+		}
+		assertThat(wheel.size()).isEqualTo(20_000L);
+
+		Map<Long, Long> fired = new HashMap<>();
+		long now = START;
+		while (fired.size() < deadlines.size()) {
+			now += TICK * (1 + random.nextInt(5_000));
+			DeadlineWheel.Bucket due = wheel.advance(now);
+			for (int i = 0; i < due.size(); i++) {
+				assertThat(due.deadline(i)).isLessThanOrEqualTo(now);
+				assertThat(fired.put(due.taskId(i), due.deadline(i))).isNull();
+			}
+			// Nothing still waiting was due
+			long dueBy = now - TICK;
+			assertThat(deadlines.entrySet()).allMatch(entry -> fired.containsKey(entry.getKey()) || entry.getValue() > dueBy);
+		}
+		assertThat(fired).isEqualTo(deadlines);
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void pastDeadlinesAreDueAtOnceAndFarFutureOnesWait() {
+		DeadlineWheel wheel = new DeadlineWheel(TICK, START);
+		wheel.add(1L, START - 5_000);
+		wheel.add(2L, Long.MAX_VALUE / 2);
+
+		DeadlineWheel.Bucket due = wheel.advance(START);
+		assertThat(due.size()).isEqualTo(1);
+		assertThat(due.taskId(0)).isEqualTo(1L);
+		assertThat(wheel.advance(START + 86_400_000L).size()).isZero();
+		assertThat(wheel.size()).isEqualTo(1L);
+	}
+
+	@Test
+	void anEmptyWheelCatchesUpWithoutWalkingEveryTick() {
+		DeadlineWheel wheel = new DeadlineWheel(TICK, START);
+		// A year of one-second ticks
+		assertThat(wheel.advance(START + 365L * 86_400_000L).size()).isZero();
+
+		long deadline = START + 366L * 86_400_000L;
+		wheel.add(1L, deadline);
+		assertThat(wheel.advance(deadline - 1).size()).isZero();
+		// Due at the first tick boundary at or after the deadline
+		assertThat(wheel.advance(deadline + TICK).size()).isEqualTo(1);
+	}
+
+	@Test
+	void entriesAddedWhileTheWheelTurnsAllComeDueOnce() throws Exception {
+		DeadlineWheel wheel = new DeadlineWheel(TICK, START);
+		int writers = 4;
+		int perWriter = 50_000;
+		ExecutorService pool = Executors.newFixedThreadPool(writers);
+		Map<Long, Long> fired = new HashMap<>();
+		long now = START;
+		try {
+			List<Future<?>> adds = new ArrayList<>();
+			for (int w = 0; w < writers; w++) {
+				long first = (long) w * perWriter;
+				adds.add(pool.submit(() -> {
+					for (long id = first; id < first + perWriter; id++) {
+						wheel.add(id, START + (id % 600) * TICK);
+					}
+				}));
+			}
+			while (!adds.stream().allMatch(Future::isDone) || wheel.size() > 0) {
+				now += TICK;
+				DeadlineWheel.Bucket due = wheel.advance(now);
+				for (int i = 0; i < due.size(); i++) {
+					assertThat(fired.put(due.taskId(i), due.deadline(i))).isNull();
+				}
+			}
+			for (Future<?> add : adds) {
+				add.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(fired).hasSize(writers * perWriter);
+		assertThat(wheel.size()).isZero();
+	}
+}
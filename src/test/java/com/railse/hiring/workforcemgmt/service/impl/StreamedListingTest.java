@@ -0,0 +1,112 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.PageDto;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamedListingTest {
+
+	// Spans several stream chunks, with a partial last one
+	private static final int TASKS = 1_000;
+
+	private TaskManagementServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		InMemoryTaskRepository repository = new InMemoryTaskRepository();
+		service = new TaskManagementServiceImpl(repository,
+				Mappers.getMapper(ITaskManagementMapper.class), AuditLog.synchronous(repository), new TaskDetailCache(0),
+				TaskChangeFeed.synchronous(1_024, 64), 5);
+		List<TaskManagement> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(TaskManagement.builder()
+					.referenceId(10_000L + i)
+					.referenceType(ReferenceType.ORDER)
+					.task(Task.CREATE_INVOICE)
+					.assigneeId(i % 2 == 0 ? 7L : 8L)
+					.status(i % 5 == 0 ? TaskStatus.CANCELLED : TaskStatus.ASSIGNED)
+					.priority(i % 3 == 0 ? Priority.HIGH : Priority.LOW)
+					.taskDeadlineTime(1_000_000L - i * 7L % 1_000)
+					.build());
+		}
+		repository.saveAll(tasks);
+	}
+
+	@Test
+	void priorityStreamMatchesThePagedListing() {
+		List<Long> streamed = new ArrayList<>();
+		service.streamTasksByPriority(Priority.HIGH, task -> streamed.add(task.getId()));
+
+		List<Long> paged = new ArrayList<>();
+		String cursor = null;
+		do {
+			PageDto<TaskManagementDto> page = service.fetchTasksByPriority(Priority.HIGH, cursor, 100);
+			page.getItems().forEach(task -> paged.add(task.getId()));
+			cursor = page.getPagination().getNextCursor();
+		} while (cursor != null);
+
+		assertThat(streamed).hasSizeGreaterThan(TASKS / 3).isEqualTo(paged);
+	}
+
+	@Test
+	void dateStreamMatchesThePagedListing() {
+		TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+		request.setStartDate(0L);
+		request.setEndDate(2_000_000L);
+		request.setAssigneeIds(List.of(7L, 8L));
+
+		List<Long> streamed = new ArrayList<>();
+		service.streamTasksByDate(request, task -> streamed.add(task.getId()));
+
+		List<Long> paged = new ArrayList<>();
+		request.setLimit(100);
+		do {
+			PageDto<TaskManagementDto> page = service.fetchTasksByDate(request);
+			page.getItems().forEach(task -> paged.add(task.getId()));
+			request.setCursor(page.getPagination().getNextCursor());
+		} while (request.getCursor() != null);
+
+		// Cancelled tasks are left out
+		assertThat(streamed).hasSize(TASKS - TASKS / 5).isEqualTo(paged);
+	}
+
+	@Test
+	void malformedCursorsAreBadRequests() {
+		TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+		request.setEndDate(2_000_000L);
+		request.setAssigneeIds(List.of(7L));
+		request.setCursor("1000000");
+
+		assertThatThrownBy(() -> service.fetchTasksByDate(request)).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> service.fetchOpenTasks(7L, "x_1", 10)).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> service.fetchTasksByPriority(Priority.HIGH, "next", 10)).isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void aPageEndingOnTheLastTaskHasNoNextCursor() {
+		List<TaskManagementDto> all = service.fetchTasksByPriority(Priority.HIGH, null, 500).getItems();
+		String beforeLast = String.valueOf(all.get(all.size() - 2).getId());
+
+		PageDto<TaskManagementDto> last = service.fetchTasksByPriority(Priority.HIGH, beforeLast, 1);
+		assertThat(last.getItems()).extracting(TaskManagementDto::getId).containsExactly(all.get(all.size() - 1).getId());
+		assertThat(last.getPagination().getHasMore()).isFalse();
+		assertThat(last.getPagination().getNextCursor()).isNull();
+	}
+}
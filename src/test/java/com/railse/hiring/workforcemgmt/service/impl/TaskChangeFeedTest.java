@@ -0,0 +1,143 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+
+	private static final TaskChangeFeed.Filter ASSIGNEE_7 = new TaskChangeFeed.Filter(7L, null, null, null);
+
+	@Test
+	void resumingReplaysMatchingChangesThenFollowsLiveOnes() throws Exception {
+		TaskChangeFeed feed = TaskChangeFeed.synchronous(64, 16);
+		TaskManagement mine = task(1L, 7L);
+		feed.publish(TaskChangeFeed.Kind.CREATED, mine, null);
+		feed.publish(TaskChangeFeed.Kind.CREATED, task(2L, 8L), null);
+		// Reassigned away from 7: still of interest to 7's subscribers
+		feed.publish(TaskChangeFeed.Kind.UPDATED, mine.withAssigneeId(8L), mine);
+
+		TaskChangeFeed.Subscription subscription = feed.subscribe(ASSIGNEE_7, 0L);
+		feed.publish(TaskChangeFeed.Kind.CREATED, task(3L, 7L), null);
+		feed.publish(TaskChangeFeed.Kind.CREATED, task(4L, 9L), null);
+
+		assertThat(drain(subscription)).containsExactly(1L, 1L, 3L);
+		assertThat(subscription.missedChanges()).isFalse();
+	}
+
+	@Test
+	void resumingBeforeTheRingReportsMissedChanges() throws Exception {
+		TaskChangeFeed feed = TaskChangeFeed.synchronous(8, 16);
+		for (long id = 1; id <= 20; id++) {
+			feed.publish(TaskChangeFeed.Kind.CREATED, task(id, 7L), null);
+		}
+
+		TaskChangeFeed.Subscription subscription = feed.subscribe(ASSIGNEE_7, 2L);
+
+		assertThat(subscription.missedChanges()).isTrue();
+		assertThat(drain(subscription)).containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+	}
+
+	@Test
+	void aSlowSubscriberOverflowsInsteadOfHoldingUpWriters() throws Exception {
+		TaskChangeFeed feed = TaskChangeFeed.synchronous(1_024, 4);
+		TaskChangeFeed.Subscription slow = feed.subscribe(ASSIGNEE_7, null);
+
+		for (long id = 1; id <= 100; id++) {
+			feed.publish(TaskChangeFeed.Kind.CREATED, task(id, 7L), null);
+		}
+
+		// It finds out it fell behind when it next reads, and the client resumes from its last offset
+		assertThat(drain(slow)).isEmpty();
+		assertThat(slow.overflowed()).isTrue();
+		assertThat(feed.overflowCount()).isEqualTo(1);
+		assertThat(feed.subscriberCount()).isZero();
+		assertThat(drain(feed.subscribe(ASSIGNEE_7, 0L))).hasSize(100);
+	}
+
+	@Test
+	void aWaitingSubscriberSeesEveryChangeFromConcurrentWriters() throws Exception {
+		TaskChangeFeed feed = TaskChangeFeed.synchronous(1 << 16, 1 << 16);
+		TaskChangeFeed.Subscription subscription = feed.subscribe(ASSIGNEE_7, null);
+		int writers = 4;
+		int perWriter = 5_000;
+		ExecutorService pool = Executors.newFixedThreadPool(writers);
+		try {
+			for (int w = 0; w < writers; w++) {
+				long first = (long) w * perWriter;
+				pool.submit(() -> {
+					for (long id = first; id < first + perWriter; id++) {
+						feed.publish(TaskChangeFeed.Kind.CREATED, task(id, id % 2 == 0 ? 7L : 8L), null);
+					}
+				});
+			}
+			Set<Long> seen = new HashSet<>();
+			long lastOffset = 0;
+			while (seen.size() < writers * perWriter / 2) {
+				TaskChangeFeed.Change change = subscription.next(10, TimeUnit.SECONDS);
+				assertThat(change).isNotNull();
+				assertThat(change.offset()).isGreaterThan(lastOffset);
+				assertThat(seen.add(change.task().getId())).isTrue();
+				lastOffset = change.offset();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(subscription.overflowed()).isFalse();
+	}
+
+	@Test
+	void listenersRunOffTheWritingThread() throws Exception {
+		TaskChangeFeed feed = new TaskChangeFeed(64, 16, false);
+		try {
+			BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+			feed.addListener(change -> threads.add(Thread.currentThread().getName()));
+			feed.addListener(change -> {
+				throw new IllegalStateException("a failing listener does not stop the others");
+			});
+
+			feed.publish(TaskChangeFeed.Kind.CREATED, task(1L, 7L), null);
+			feed.publish(TaskChangeFeed.Kind.CREATED, task(2L, 7L), null);
+
+			assertThat(threads.poll(5, TimeUnit.SECONDS)).isEqualTo("change-listeners");
+			assertThat(threads.poll(5, TimeUnit.SECONDS)).isEqualTo("change-listeners");
+		} finally {
+			feed.close();
+		}
+	}
+
+
+	private static List<Long> drain(TaskChangeFeed.Subscription subscription) throws InterruptedException {
+		List<Long> ids = new ArrayList<>();
+		TaskChangeFeed.Change change;
+		while ((change = subscription.next(10, TimeUnit.MILLISECONDS)) != null) {
+			ids.add(change.task().getId());
+		}
+		return ids;
+	}
+
+	private static TaskManagement task(Long id, Long assigneeId) {
+		return TaskManagement.builder()
+				.id(id)
+				.referenceId(id)
+				.referenceType(ReferenceType.ORDER)
+				.assigneeId(assigneeId)
+				.status(TaskStatus.ASSIGNED)
+				.priority(Priority.MEDIUM)
+				.build();
+	}
+}
@@ -0,0 +1,104 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.CacheStatsDto;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdateTaskRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.ActivityOnTask;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.CommentOnTask;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskDetailCacheTest {
+
+	private InMemoryTaskRepository repository;
+	private TaskDetailCache cache;
+	private TaskManagementServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		repository = new InMemoryTaskRepository();
+		cache = new TaskDetailCache(64);
+		service = new TaskManagementServiceImpl(repository,
+				Mappers.getMapper(ITaskManagementMapper.class), AuditLog.synchronous(repository), cache, TaskChangeFeed.synchronous(1_024, 64), 5);
+	}
+
+	@Test
+	void repeatedReadsOfAnUnchangedTaskAreHits() {
+		TaskManagementDto first = service.findTaskById(1L);
+		TaskManagementDto second = service.findTaskById(1L);
+
+		assertThat(second).isEqualTo(first);
+		assertThat(stats().getHits()).isEqualTo(1);
+		assertThat(stats().getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	void changingAReturnedDetailDoesNotChangeTheCachedOne() {
+		repository.saveCommentByTaskId(new CommentOnTask(1L, new Comment(null, "ops", "call ahead")));
+		TaskManagementDto first = service.findTaskById(1L);
+		first.setDescription("scribbled on");
+		first.getCommentList().get(0).setComment("scribbled on");
+		first.setActivityList(List.of());
+
+		TaskManagementDto second = service.findTaskById(1L);
+
+		assertThat(stats().getHits()).isEqualTo(1);
+		assertThat(second.getDescription()).isEqualTo("This is a seed task.");
+		assertThat(second.getCommentList()).extracting(Comment::getComment).containsExactly("call ahead");
+		assertThat(second.getActivityList()).hasSize(second.getActivityCount());
+	}
+
+	@Test
+	void everyKindOfWriteIsSeenByTheNextRead() {
+		service.findTaskById(1L);
+
+		UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
+		item.setTaskId(1L);
+		item.setDescription("moved to dock 4");
+		UpdateTaskRequest update = new UpdateTaskRequest();
+		update.setRequests(List.of(item));
+		update.setUserName("dispatcher");
+		service.updateTasks(update);
+		assertThat(service.findTaskById(1L).getDescription()).isEqualTo("moved to dock 4");
+
+		repository.saveTask(new ActivityOnTask(1L, Activity.of(0L, "ops", ActivityType.TASK_UPDATED, 1L)));
+		TaskManagementDto afterActivity = service.findTaskById(1L);
+		assertThat(afterActivity.getActivityCount()).isEqualTo(2);
+
+		repository.saveCommentByTaskId(new CommentOnTask(1L, new Comment(null, "ops", "call ahead")));
+		TaskManagementDto afterComment = service.findTaskById(1L);
+		assertThat(afterComment.getCommentCount()).isEqualTo(1);
+		assertThat(afterComment.getCommentList()).extracting(Comment::getComment).containsExactly("call ahead");
+
+		assertThat(stats().getHits()).isZero();
+		assertThat(stats().getMisses()).isEqualTo(4);
+	}
+
+	@Test
+	void staysWithinCapacity() {
+		for (long id = 0; id < 1_000; id++) {
+			TaskManagement task = TaskManagement.builder().id(id).version(1).status(TaskStatus.ASSIGNED).build();
+			cache.get(task, 0, 0, TaskManagementDto::new);
+		}
+
+		assertThat(stats().getSize()).isLessThanOrEqualTo(64);
+		assertThat(stats().getEvictions()).isEqualTo(1_000 - stats().getSize());
+	}
+
+
+	private CacheStatsDto stats() {
+		return cache.stats();
+	}
+}
@@ -0,0 +1,73 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.RequestTaskPriorityUpdate;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdateTaskRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpdateResponseHistoryTest {
+
+	private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+
+	@Test
+	void theResponseShowsActivitiesTheAuditWriterHasNotReachedYet() {
+		// Activities go to another store, as if still queued
+		TaskManagementServiceImpl service = service(AuditLog.synchronous(new InMemoryTaskRepository()));
+
+		TaskManagementDto updated = service.updateTasks(describe(1L, "gate 3")).get(0);
+		TaskManagementDto reprioritised = service.updateTaskPriority(prioritise(1L, Priority.LOW)).get(0);
+
+		assertThat(updated.getActivityList()).extracting(Activity::getType).containsExactly(ActivityType.TASK_UPDATED);
+		assertThat(updated.getActivityCount()).isEqualTo(1);
+		assertThat(reprioritised.getActivityList()).extracting(Activity::getType).containsExactly(ActivityType.PRIORITY_CHANGED);
+		assertThat(repository.countActivityByTaskId(1L)).isZero();
+	}
+
+	@Test
+	void activitiesAlreadyWrittenAreNotShownTwice() {
+		TaskManagementServiceImpl service = service(AuditLog.synchronous(repository));
+
+		service.updateTasks(describe(1L, "gate 3"));
+		TaskManagementDto reprioritised = service.updateTaskPriority(prioritise(1L, Priority.LOW)).get(0);
+
+		assertThat(reprioritised.getActivityList()).extracting(Activity::getType)
+				.containsExactly(ActivityType.TASK_UPDATED, ActivityType.PRIORITY_CHANGED);
+		assertThat(reprioritised.getActivityCount()).isEqualTo(2);
+	}
+
+
+	private TaskManagementServiceImpl service(AuditLog auditLog) {
+		return new TaskManagementServiceImpl(repository, Mappers.getMapper(ITaskManagementMapper.class), auditLog,
+				new TaskDetailCache(0), TaskChangeFeed.synchronous(1_024, 64), 5);
+	}
+
+	private static UpdateTaskRequest describe(Long taskId, String description) {
+		UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
+		item.setTaskId(taskId);
+		item.setDescription(description);
+		UpdateTaskRequest request = new UpdateTaskRequest();
+		request.setRequests(List.of(item));
+		request.setUserName("dispatcher");
+		return request;
+	}
+
+	private static RequestTaskPriorityUpdate prioritise(Long taskId, Priority priority) {
+		RequestTaskPriorityUpdate.UpdatePriority item = new RequestTaskPriorityUpdate.UpdatePriority();
+		item.setTaskId(taskId);
+		item.setPriority(priority);
+		RequestTaskPriorityUpdate request = new RequestTaskPriorityUpdate();
+		request.setUpdateProrityList(List.of(item));
+		request.setUserName("dispatcher");
+		return request;
+	}
+}
@@ -0,0 +1,66 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "task-mgmt.tracing.enabled=true")
+@AutoConfigureMockMvc
+class RequestTracingTest {
+
+	private static final String REQUEST = "com.railse.workforcemgmt.Request";
+	private static final String REPOSITORY_CALL = "com.railse.workforcemgmt.RepositoryCall";
+	private static final String ENDPOINT = "GET /task-mgmt/{id}";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void aRequestIsRecordedWithItsRepositoryCallsInsideIt() throws Exception {
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(REQUEST);
+			recording.enable(REPOSITORY_CALL);
+			recording.start();
+			mockMvc.perform(get("/task-mgmt/1")).andExpect(status().isOk());
+			recording.stop();
+			Path file = directory.resolve("trace.jfr");
+			recording.dump(file);
+			events = RecordingFile.readAllEvents(file);
+		}
+
+		List<RecordedEvent> requests = events.stream()
+				.filter(event -> event.getEventType().getName().equals(REQUEST))
+				.filter(event -> ENDPOINT.equals(event.getString("endpoint")))
+				.toList();
+		assertThat(requests).hasSize(1);
+		RecordedEvent request = requests.get(0);
+		List<RecordedEvent> calls = events.stream()
+				.filter(event -> event.getEventType().getName().equals(REPOSITORY_CALL))
+				.filter(event -> ENDPOINT.equals(event.getString("endpoint")))
+				.toList();
+		assertThat(calls).isNotEmpty();
+		assertThat(request.getInt("repositoryCalls")).isEqualTo(calls.size());
+		for (RecordedEvent call : calls) {
+			assertThat(call.getThread().getJavaThreadId()).isEqualTo(request.getThread().getJavaThreadId());
+			assertThat(call.getStartTime()).isAfterOrEqualTo(request.getStartTime());
+			assertThat(call.getEndTime()).isBeforeOrEqualTo(request.getEndTime());
+		}
+	}
+}
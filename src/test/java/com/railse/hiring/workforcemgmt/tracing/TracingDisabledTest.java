@@ -0,0 +1,36 @@
+package com.railse.hiring.workforcemgmt.tracing;
+
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// task-mgmt.tracing.enabled is false in application.properties
+@SpringBootTest
+class TracingDisabledTest {
+
+	@Autowired
+	ApplicationContext context;
+
+	@Autowired
+	TaskRepository taskRepository;
+
+	@Autowired
+	ITaskManagementMapper taskMapper;
+
+	@Test
+	void nothingIsRegisteredWhenTracingIsOff() {
+		assertThat(context.getBeanNamesForType(TracingConfig.class)).isEmpty();
+		assertThat(context.getBeanNamesForType(TracingAspect.class)).isEmpty();
+		assertThat(context.getBeansOfType(MappingJackson2HttpMessageConverter.class).values())
+				.noneMatch(TracingJsonConverter.class::isInstance);
+		assertThat(AopUtils.isAopProxy(taskRepository)).isFalse();
+		assertThat(AopUtils.isAopProxy(taskMapper)).isFalse();
+	}
+}